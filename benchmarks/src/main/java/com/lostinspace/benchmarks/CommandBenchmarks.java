@@ -0,0 +1,83 @@
+package com.lostinspace.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Command Benchmarks Class |
+ * Whole commands through Controller.userCommands, one benchmark per verb family:
+ * tokenizing, verb and noun lookup, the handler, and its formatted output.
+ * Benchmarks that change the game undo it in the same operation, so those time two commands.
+ * Commands return nothing, so each benchmark hands where the command left the game to a Blackhole.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBenchmarks {
+
+    // GO there and back again (two commands)
+    @Benchmark
+    public void go(GameFixture fixture, Blackhole blackhole) throws IOException {
+        fixture.game.getPlayer().setCurrentRoom(fixture.here);
+        fixture.game.userCommands(fixture.goAhead);
+        blackhole.consume(fixture.game.getPlayer().getRoom());
+        fixture.game.userCommands(fixture.goBack);
+        blackhole.consume(fixture.game.getPlayer().getRoom());
+    }
+
+    @Benchmark
+    public void inspectRoom(GameFixture fixture, Blackhole blackhole) throws IOException {
+        fixture.game.getPlayer().setCurrentRoom(fixture.here);
+        fixture.game.userCommands("inspect room");
+        blackhole.consume(fixture.game.isPaused());
+    }
+
+    @Benchmark
+    public void inspectItem(GameFixture fixture, Blackhole blackhole) throws IOException {
+        fixture.game.getPlayer().setCurrentRoom(fixture.dockingBay);
+        fixture.game.userCommands("inspect scrambler");
+        blackhole.consume(fixture.game.isPaused());
+    }
+
+    // GET an item, then DROP it again (two commands)
+    @Benchmark
+    public void getAndDrop(GameFixture fixture, Blackhole blackhole) throws IOException {
+        fixture.game.getPlayer().setCurrentRoom(fixture.dockingBay);
+        fixture.game.userCommands("get scrambler");
+        blackhole.consume(fixture.game.getInventory().size());
+        fixture.game.userCommands("drop scrambler");
+        blackhole.consume(fixture.game.getInventory().size());
+    }
+
+    @Benchmark
+    public void use(GameFixture fixture, Blackhole blackhole) throws IOException {
+        fixture.enter("Cockpit");
+        fixture.game.userCommands("use pipes");
+        blackhole.consume(fixture.game.getPlayer().getOxygen());
+    }
+
+    // a single-word command that shows a screen of text
+    @Benchmark
+    public void singleWord(GameFixture fixture, Blackhole blackhole) throws IOException {
+        fixture.game.userCommands("objectives");
+        blackhole.consume(fixture.game.isPaused());
+    }
+
+    // a verb the game doesn't know
+    @Benchmark
+    public void unknown(GameFixture fixture, Blackhole blackhole) throws IOException {
+        fixture.game.userCommands("dance wildly");
+        blackhole.consume(fixture.game.isPaused());
+    }
+}
@@ -0,0 +1,99 @@
+package com.lostinspace.benchmarks;
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.PackedState;
+import com.lostinspace.model.Room;
+import com.lostinspace.model.WorldTemplate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Engine Benchmarks Class |
+ * The Controller methods behind the commands, called directly,
+ * plus status rendering, packed state snapshots and what it costs to start a game on a world.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EngineBenchmarks {
+    private boolean flip;                       // alternates the room showStatus draws, so every frame changes
+
+    @Benchmark
+    public Room move(GameFixture fixture) throws IOException {
+        return fixture.game.move(fixture.here, fixture.ahead, "ahead");
+    }
+
+    @Benchmark
+    public String inspectRoom(GameFixture fixture) {
+        return fixture.game.inspectRoom(fixture.here);
+    }
+
+    @Benchmark
+    public String inspectItem(GameFixture fixture) {
+        return fixture.game.inspectItem(fixture.dockingBay, fixture.scrambler, "scrambler");
+    }
+
+    @Benchmark
+    public void useItem(GameFixture fixture, Blackhole blackhole) throws IOException {
+        fixture.enter("Cockpit");
+        fixture.game.useItem(fixture.game.getInventory(), fixture.pipes, "pipes");
+        blackhole.consume(fixture.game.getPlayer().getOxygen());
+    }
+
+    // composes the status frame and draws it, with half of its lines changed since the last one
+    @Benchmark
+    public void showStatus(GameFixture fixture) {
+        flip = !flip;
+        Room room = flip ? fixture.here : fixture.there;
+        fixture.game.showStatus(room.getName(), room.getDescription());
+        fixture.game.prompt("Enter a Command (HELP for command list): ");
+    }
+
+    // packs the session's state, as the solver does for every state it reaches
+    @Benchmark
+    public PackedState packState(GameFixture fixture) {
+        return PackedState.pack(fixture.game.getState(), fixture.template);
+    }
+
+    // puts the packed starting state back into the live session, as RESTART does
+    @Benchmark
+    public void unpackState(GameFixture fixture, Blackhole blackhole) {
+        fixture.packed.unpack(fixture.game.getState(), fixture.template);
+        blackhole.consume(fixture.game.getState());
+    }
+
+    // compares two equal packed states, as the solver's visited map does
+    @Benchmark
+    public boolean compareStates(GameFixture fixture) {
+        return fixture.packed.equals(fixture.packedCopy);
+    }
+
+    // starts a new session on the already loaded world
+    @Benchmark
+    public Controller loadGameObjects(GameFixture fixture) {
+        Controller game = Controller.headless();
+        game.loadGameObjects(fixture.template);
+        return game;
+    }
+
+    // builds the shared world template from loaded content: symbols, indexes and item uses
+    @Benchmark
+    public WorldTemplate buildTemplate(GameFixture fixture) {
+        return Controller.newTemplate(fixture.snapshot);
+    }
+}
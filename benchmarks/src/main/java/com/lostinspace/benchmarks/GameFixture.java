@@ -0,0 +1,78 @@
+package com.lostinspace.benchmarks;
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.Exit;
+import com.lostinspace.model.PackedState;
+import com.lostinspace.model.Room;
+import com.lostinspace.model.WorldSnapshot;
+import com.lostinspace.model.WorldTemplate;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * Game Fixture Class |
+ * One headless game per benchmark thread, on the world named by the "world" parameter.
+ * Output goes to a null stream, but is still formatted and rendered as it would be for a player.
+ *
+ * Every benchmark leaves the game as it found it, so the fixture is only built once per trial.
+ */
+@State(Scope.Thread)
+public class GameFixture {
+    @Param({GeneratedWorlds.STOCK, "1000", "50000"})
+    public String world;                        // "stock", or how many generated sectors are added to it
+
+    public WorldSnapshot snapshot;              // the world's content, as loaded
+    public WorldTemplate template;              // the world, built once for the trial
+    public Controller game;                     // the game every benchmark plays
+    public Room here;                           // where movement benchmarks start
+    public Room there;                          // the room one move away from 'here'
+    public int ahead;                           // direction from 'here' to 'there'
+    public int back;                            // direction from 'there' to 'here'
+    public String goAhead;                      // the same two moves, typed as commands
+    public String goBack;
+    public Room dockingBay;                     // where the SCRAMBLER lies, for item benchmarks
+    public int scrambler;                       // symbol id of the SCRAMBLER
+    public int pipes;                           // symbol id of the PIPES in the Cockpit
+    public PackedState packed;                  // the starting state, packed
+    public PackedState packedCopy;              // the same state packed again, equal but not the same object
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = GeneratedWorlds.world(world);
+        template = Controller.newTemplate(snapshot);
+
+        game = Controller.headless();
+        game.getItemUseMethods().setEasyMode(true);  // PIPES stay usable, so USE PIPES does the same work every time
+        game.loadGameObjects(template);
+
+        dockingBay = template.getMap().getRoom("Docking Bay");
+        scrambler = template.getSymbols().idOf("scrambler");
+        pipes = template.getSymbols().idOf("pipes");
+
+        // move inside the generated grid when there is one, so lookups touch the large end of the world
+        if (world.equals(GeneratedWorlds.STOCK)) {
+            here = template.getMap().getRoom("Cockpit");
+            ahead = Exit.SOUTH;
+            back = Exit.NORTH;
+        } else {
+            here = template.getMap().getRoom(GeneratedWorlds.FIRST_SECTOR);
+            ahead = Exit.EAST;
+            back = Exit.WEST;
+        }
+        there = here.getExit(ahead);
+        goAhead = "go " + Exit.DIRECTION_NAMES[ahead];
+        goBack = "go " + Exit.DIRECTION_NAMES[back];
+
+        packed = PackedState.pack(game.getState(), template);
+        packedCopy = PackedState.pack(game.getState(), template);
+    }
+
+    // puts the player in a room by name
+    public void enter(String room) {
+        game.getPlayer().setCurrentRoom(template.getMap().getRoom(room));
+    }
+}
@@ -0,0 +1,85 @@
+package com.lostinspace.benchmarks;
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.Exit;
+import com.lostinspace.model.Item;
+import com.lostinspace.model.Room;
+import com.lostinspace.model.RoomsRoot;
+import com.lostinspace.model.WorldSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Generated Worlds Class |
+ * Builds the worlds the benchmarks run against: the stock ship, or the stock ship with a square grid
+ * of generated sectors attached east of the Enviro-Field, each sector holding one crate.
+ * Every call returns new objects, so each world gets its own ids.
+ */
+public class GeneratedWorlds {
+    public static final String STOCK = "stock";         // the ship as shipped, no generated rooms
+    public static final String FIRST_SECTOR = sector(0);
+    public static final String ANCHOR_ROOM = "Enviro-Field"; // stock room the grid is attached to
+
+    // returns the world named by a benchmark parameter: "stock", or the number of sectors to add
+    public static WorldSnapshot world(String size) {
+        WorldSnapshot stock = Controller.headless().loadWorldFromJson();
+        return size.equals(STOCK) ? stock : withSectors(stock, Integer.parseInt(size));
+    }
+
+    // returns the stock world with a grid of sectors added to it
+    public static WorldSnapshot withSectors(WorldSnapshot stock, int sectors) {
+        int width = (int) Math.ceil(Math.sqrt(sectors));
+
+        List<Room> rooms = new ArrayList<>(stock.getMap().getRooms().size() + sectors);
+        Room enviroField = null;
+        for (Room room : stock.getMap().getRooms()) {
+            Room copy = copy(room);
+            rooms.add(copy);
+            if (copy.getName().equals(ANCHOR_ROOM)) enviroField = copy;
+        }
+        // the Enviro-Field only leads west, so the grid hangs off its east side
+        if (enviroField == null || (enviroField.exits.getEast() != null && !enviroField.exits.getEast().isEmpty())) {
+            throw new IllegalStateException("The stock world has no \"" + ANCHOR_ROOM + "\" with a free east exit to attach sectors to");
+        }
+        enviroField.exits = new Exit(enviroField.exits.getNorth(), enviroField.exits.getSouth(), FIRST_SECTOR,
+                enviroField.exits.getWest());
+
+        List<Item> items = new ArrayList<>(stock.getItems());
+        for (int i = 0; i < sectors; i++) {
+            int row = i / width;
+            int col = i % width;
+            Room room = new Room();
+            room.name = sector(i);
+            room.description = "Sector " + i + " of the outer hull, row " + row + ", column " + col + ".";
+            room.exits = new Exit(
+                    row > 0 ? sector(i - width) : "",
+                    i + width < sectors ? sector(i + width) : "",
+                    col + 1 < width && i + 1 < sectors ? sector(i + 1) : "",
+                    col > 0 ? sector(i - 1) : (i == 0 ? enviroField.name : ""));
+            rooms.add(room);
+
+            items.add(new Item("crate" + i, List.of(), List.of(room.name), "a supply CRATE",
+                    "A sealed supply crate stencilled with the number " + i + ".", false, "An empty crate."));
+        }
+
+        RoomsRoot map = new RoomsRoot();
+        map.rooms = rooms;
+        map.createMap();
+        return new WorldSnapshot(map, items, stock.getHiddenItems(), stock.getInteractables(), stock.getItemUseMap());
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private static String sector(int i) {
+        return "Sector " + i;
+    }
+
+    private static Room copy(Room room) {
+        Room copy = new Room();
+        copy.name = room.name;
+        copy.description = room.description;
+        copy.exits = room.exits;
+        return copy;
+    }
+}
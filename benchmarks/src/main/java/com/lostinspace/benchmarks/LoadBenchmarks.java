@@ -0,0 +1,36 @@
+package com.lostinspace.benchmarks;
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.WorldSnapshot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Load Benchmarks Class |
+ * Reading the stock game content: from the compiled world snapshot, and from the JSON files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmarks {
+
+    @Benchmark
+    public WorldSnapshot fromSnapshot() {
+        return Controller.headless().loadWorld();
+    }
+
+    @Benchmark
+    public WorldSnapshot fromJson() {
+        return Controller.headless().loadWorldFromJson();
+    }
+}
@@ -3,23 +3,83 @@ package com.lostinspace.app;
 /*
  * Development Main Class |
  * Main game logic for dev purposes.
- * Handles all game logic.
+ * Starts a single game on the local console, the multi-session server with --server [port],
+ * or the headless balance simulator with --simulate.
+ * --journal FILE logs the local game's commands, and --replay FILE... rebuilds games from such logs.
+ * --batch FILE... plays command scripts at full speed and reports their end states and command times.
+ * --solve searches every reachable game state for the shortest win and for rooms and items that can't be reached.
+ * --warmup plays a synthetic session first so the JIT is warm; --training only plays it, to record the AppCDS class list.
+ * --world-store FILE reads rooms from a memory-mapped store file, written first if it doesn't exist.
+ * --metrics FILE writes command latencies and counters to FILE on exit; they are always available over JMX.
  * Calls Controller for player commands
  */
 
-import com.lostinspace.model.Room;
 import com.lostinspace.controller.Controller;
+import com.lostinspace.sim.Batch;
+import com.lostinspace.sim.Replay;
+import com.lostinspace.sim.Simulator;
+import com.lostinspace.sim.Solver;
+import com.lostinspace.sim.StartupBenchmark;
+import com.lostinspace.util.CommandMetrics;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 
 public class App {
-    private static Controller controller = new Controller(); // make an instance of controller for player commands
-    private static Scanner scan = new Scanner(System.in);
-    private static List<Room> map;                      // ref to testMap.rooms
 
     // GAME LOGIC
-    public static void main(String[] args) throws IOException {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("--server")) {
+            GameServer.main(Arrays.copyOfRange(args, 1, args.length)); // serve many players instead
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            Simulator.main(Arrays.copyOfRange(args, 1, args.length));  // headless balance simulation
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--replay")) {
+            Replay.main(Arrays.copyOfRange(args, 1, args.length));     // rebuild games from their journals
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--solve")) {
+            Solver.main(Arrays.copyOfRange(args, 1, args.length));     // shortest win and unreachable content
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--batch")) {
+            Batch.main(Arrays.copyOfRange(args, 1, args.length));      // play command scripts at full speed
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--startup-benchmark")) {
+            StartupBenchmark.main(Arrays.copyOfRange(args, 1, args.length)); // time cold starts in each startup mode
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--training")) {
+            Warmup.run();                                              // training run for the AppCDS archive
+            return;
+        }
+
+        // console game options
+        Path journal = null;
+        boolean warmup = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--journal")) {
+                journal = Path.of(args[++i]);
+            } else if (args[i].equals("--warmup")) {
+                warmup = true;
+            } else if (args[i].equals("--metrics")) {
+                CommandMetrics.shared().dumpOnExit(Path.of(args[++i]));
+            } else if (args[i].equals("--world-store")) {
+                Controller.useWorldStore(Path.of(args[++i])); // rooms come from disk, only the recently visited are kept built
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (warmup) {
+            Warmup.run();                                    // compile the command path on the template the player gets
+        }
+
+        Controller controller = new Controller();            // make an instance of controller for player commands
         controller.loadAnsiConsole();                        // enables Jansi ANSI support
 
         controller.loadGameObjects();                        // loads all objects used for game logic into memory
@@ -30,41 +90,14 @@ public class App {
 
         //controller.gameInstructions();                      // display game instructions
 
-
-        // breaking this while loop means the game is over
-        while (true) {
-            String userInput = "";                              // empty string to hold user response
-
-            // continues until user enters something
-            while (userInput.equals("")) {
-                remindStatus(); // remind user of status
-                System.out.println("Enter a Command (HELP for command list): ");        // prompt a user response
-                userInput = scan.nextLine();                    // stop for user data entry
-                userInput = userInput.toLowerCase();            // normalizing input
-                String[] inputArr = userInput.split(" "); // create array for split input
-
-
-                //--------------------------------------PLAYER COMMANDS--------------------------------------------//
-                controller.userCommands(inputArr);
-            }
+        if (journal != null) {
+            controller.startJournal(journal);                // log every command, resuming a game the log already holds
         }
-    }
 
-    static void remindStatus() {
-        // no command input requires showStatus() to display details to user again
-        String roomDescription = "";                             // create empty string to hold description
-        List<Room> rooms = controller.getRoomsList();            // gets a ref to list of rooms
-        for (int i = 0; i < rooms.size(); i++) {                 // search through all rooms for currentRoom description
-            if (rooms.get(i).name.equals(controller.getPlayer().getCurrentRoom())) {  // if found...
-                roomDescription = rooms.get(i).description;      // ...create string to hold currentRoom's description
-            }
+        try {
+            new GameSession(controller).play();              // play until the player quits
+        } finally {
+            controller.stopJournal();                        // write any commands still buffered
         }
-        // get status for no input, which usually would not exit the while to display showStatus() again
-        controller.showStatus(controller.getPlayer().getCurrentRoom(), roomDescription);
-    }
-
-    public static Controller getController() {
-        return controller;
     }
 }
-
@@ -0,0 +1,138 @@
+package com.lostinspace.app;
+
+/*
+ * Game Server Class |
+ * Accepts many telnet-style connections on one JVM.
+ * Every connection gets its own Controller and GameSession, run on its own thread:
+ * a virtual thread when the JVM supports them, otherwise a pooled platform thread.
+ * Every session saves to its own file, in the working directory or the one given with --save-dir DIR.
+ * With --journal-dir DIR every session logs its commands to its own journal in DIR,
+ * with --warmup a synthetic session is played before the first player is accepted,
+ * with --world-store FILE every session reads rooms from one memory-mapped store file,
+ * and with --metrics FILE the command latencies and counters of every session are written to FILE on exit.
+ * The same metrics are always available over JMX, under com.lostinspace.
+ */
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.util.CommandMetrics;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class GameServer {
+    public static final int DEFAULT_PORT = 4000;
+
+    private final int port;
+    private final ExecutorService sessions = newSessionExecutor(); // runs one task per connected player
+    private Path journalDir;                                       // where session journals go, null for none
+    private Path saveDir = Path.of("");                            // where session save games go
+    private final long startedAt = System.currentTimeMillis();     // keeps save and journal names unique across server runs
+    private final AtomicLong sessionCount = new AtomicLong();      // numbers each session's save and journal
+
+    // CTOR
+    public GameServer(int port) {
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        Path journalDir = null;
+        Path saveDir = Path.of("");
+        boolean warmup = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--journal-dir")) {
+                journalDir = Path.of(args[++i]);
+            } else if (args[i].equals("--save-dir")) {
+                saveDir = Path.of(args[++i]);
+            } else if (args[i].equals("--warmup")) {
+                warmup = true;
+            } else if (args[i].equals("--metrics")) {
+                CommandMetrics.shared().dumpOnExit(Path.of(args[++i]));
+            } else if (args[i].equals("--world-store")) {
+                Controller.useWorldStore(Path.of(args[++i])); // every session reads rooms from the same mapped store
+            } else {
+                port = Integer.parseInt(args[i]);
+            }
+        }
+        if (warmup) {
+            Warmup.run();                           // compile the command path on the template sessions get
+        }
+
+        GameServer server = new GameServer(port);
+        server.setJournalDir(journalDir);
+        server.setSaveDir(saveDir);
+        server.serve();
+    }
+
+    // accepts connections until the process is stopped
+    public void serve() throws IOException {
+        if (journalDir != null) {
+            Files.createDirectories(journalDir);
+        }
+        Files.createDirectories(saveDir.toAbsolutePath());
+        try (ServerSocket server = new ServerSocket(port)) {
+            System.out.println("Lost in Space server listening on port " + server.getLocalPort());
+            while (true) {
+                Socket socket = server.accept();
+                sessions.submit(() -> play(socket));
+            }
+        }
+    }
+
+    // plays one isolated game over a connection, closing it when the player quits or disconnects
+    private void play(Socket socket) {
+        try (socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            BufferedOutputStream out = new BufferedOutputStream(socket.getOutputStream());
+
+            String name = "session-" + startedAt + "-" + sessionCount.incrementAndGet();
+            Controller controller = new Controller(in, out, StandardCharsets.UTF_8);
+            controller.loadGameObjects();
+            controller.setSaveFile(saveDir.resolve(name + ".sav"));      // players never share a save
+            if (journalDir != null) {
+                controller.startJournal(journalDir.resolve(name + ".journal"));
+            }
+            try {
+                new GameSession(controller).play();
+            } finally {
+                controller.stopJournal();
+            }
+        } catch (IOException err) {
+            System.err.println("Session " + socket.getRemoteSocketAddress() + " ended: " + err.getMessage());
+        } catch (RuntimeException err) {
+            // the executor would swallow it, so a bug ending a session is reported here
+            System.err.println("Session " + socket.getRemoteSocketAddress() + " failed: " + err);
+            err.printStackTrace();
+        }
+    }
+
+    public void setJournalDir(Path journalDir) {
+        this.journalDir = journalDir;
+    }
+
+    public void setSaveDir(Path saveDir) {
+        this.saveDir = saveDir;
+    }
+
+    /*
+     * virtual threads let thousands of blocked sessions wait for input cheaply
+     * they are looked up reflectively so the game still builds and runs on Java 11
+     */
+    static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException err) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.lostinspace.app;
+
+/*
+ * Game Session Class |
+ * The prompt loop for one player.
+ * Each session owns its Controller and streams, so sessions share no mutable state.
+ */
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.Room;
+
+import java.io.IOException;
+
+public class GameSession implements Runnable {
+    private final Controller controller;    // this player's game
+
+    // CTOR
+    public GameSession(Controller controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void run() {
+        try {
+            play();
+        } catch (IOException err) {
+            err.printStackTrace();
+        }
+    }
+
+    // breaking this while loop means the game is over
+    public void play() throws IOException {
+        while (controller.isRunning()) {
+            if (!controller.isPaused()) {                                            // a pause keeps its screen up
+                remindStatus();                                                      // remind user of status
+                controller.prompt("Enter a Command (HELP for command list): ");    // prompt a user response
+            }
+            String userInput = controller.readCommand();                             // wait for user data entry
+            if (userInput == null) {
+                return;                                                              // player disconnected
+            }
+
+            //--------------------------------------PLAYER COMMANDS--------------------------------------------//
+            controller.handleInput(userInput);              // ends a pause, or is split and normalized as a command
+        }
+    }
+
+    void remindStatus() {
+        // no command input requires showStatus() to display details to user again
+        Room room = controller.getPlayer().getRoom();             // current room is tracked directly by the player
+        String roomDescription = room.getDescription();          // string to hold currentRoom's description
+        // get status for no input, which usually would not exit the while to display showStatus() again
+        controller.showStatus(controller.getPlayer().getCurrentRoom(), roomDescription);
+    }
+
+    public Controller getController() {
+        return controller;
+    }
+}
@@ -0,0 +1,52 @@
+package com.lostinspace.app;
+
+/*
+ * Warmup Class |
+ * Plays a synthetic session headlessly, over and over, before real players arrive,
+ * so the JIT has compiled the command path by the time the first real command is typed.
+ * Also used as the training run that records which classes go into the AppCDS archive.
+ */
+
+import com.lostinspace.controller.Controller;
+
+import java.io.IOException;
+import java.util.List;
+
+public class Warmup {
+    public static final int DEFAULT_ROUNDS = 200;      // playthroughs of the script, enough for every hot method to be compiled
+
+    // walks the whole ship and wins, touching every verb along the way
+    static final List<String> SCRIPT = List.of(
+            "inspect room", "look library", "help", "objectives",
+            "go south", "go south", "go west", "inspect locker", "use locker", "inspect key",
+            "go east", "go south", "go south", "get scrambler", "go east", "get scrambler", "drop scrambler",
+            "go west", "go south", "use cabinet", "go south", "go south", "go south", "go east",
+            "use rack", "go north", "go west", "go north", "go north", "use pipes", "go north", "go north",
+            "go north", "use keycard", "go north", "go north", "use library", "use manual", "use component", "use tool",
+            "go up", "jump", "use nothing", "easymode", "easymode", "restart");
+
+    // plays the script the given number of times on a headless game, returns the commands played
+    public static long run(int rounds) throws IOException {
+        Controller controller = Controller.headless();
+        controller.loadGameObjects();
+        GameSession session = new GameSession(controller);
+
+        long commands = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (String command : SCRIPT) {
+                session.remindStatus();                                   // compose and draw the status screen
+                controller.prompt("Enter a Command (HELP for command list): ");
+                controller.userCommands(command);
+                commands++;
+            }
+        }
+        return commands;
+    }
+
+    // plays the default warm-up and reports how long it took
+    public static void run() throws IOException {
+        long start = System.nanoTime();
+        long commands = run(DEFAULT_ROUNDS);
+        System.err.printf("Warmed up with %d commands in %d ms%n", commands, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,13 @@
+package com.lostinspace.controller;
+
+import java.io.IOException;
+
+/*
+ * Command Interface |
+ * Handler for one player verb and all of its aliases.
+ * Receives the symbol id of the command's target, or SymbolTable.NONE when there is none.
+ */
+@FunctionalInterface
+public interface Command {
+    void execute(int noun) throws IOException;
+}
@@ -0,0 +1,59 @@
+package com.lostinspace.controller;
+
+import com.lostinspace.model.SymbolTable;
+import com.lostinspace.util.CommandMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Command Registry Class |
+ * Maps every verb and alias the player can type to its Command, built once at startup.
+ * Resolving a verb is a single hash lookup no matter how many verbs are registered.
+ */
+public class CommandRegistry {
+    private final SymbolTable verbs = new SymbolTable();       // verb and aliases -> verb id
+    private final List<Command> commands = new ArrayList<>();  // verb id -> handler
+    private final List<Boolean> targeted = new ArrayList<>();  // verb id -> whether a target word is required
+    private final List<CommandMetrics.Family> families = new ArrayList<>(); // verb id -> family it is timed under
+
+    /*
+     * registers a handler under a verb and its aliases
+     * the first word is the canonical verb, an alias that is already registered keeps its first meaning
+     */
+    public void register(boolean needsTarget, CommandMetrics.Family family, Command command, String verb, String... aliases) {
+        int id = verbs.intern(verb);
+        commands.add(command);
+        targeted.add(needsTarget);
+        families.add(family);
+        for (String alias : aliases) {
+            verbs.alias(alias, id);
+        }
+    }
+
+    // returns the verb id of the word held in buf[off, off + len), or SymbolTable.NONE
+    public int lookup(char[] buf, int off, int len) {
+        return verbs.idOf(buf, off, len);
+    }
+
+    // returns the verb id of a verb or alias, or SymbolTable.NONE
+    public int idOf(String verb) {
+        return verbs.idOf(verb);
+    }
+
+    public Command get(int verb) {
+        return commands.get(verb);
+    }
+
+    public boolean needsTarget(int verb) {
+        return targeted.get(verb);
+    }
+
+    public CommandMetrics.Family familyOf(int verb) {
+        return families.get(verb);
+    }
+
+    public String nameOf(int verb) {
+        return verbs.nameOf(verb);
+    }
+}
@@ -7,22 +7,42 @@ package com.lostinspace.controller;
  * Handles loading game map into memory.
  */
 
-import com.google.gson.Gson;
 
-import com.lostinspace.app.App;
 import com.lostinspace.model.*;
+import com.lostinspace.sim.Hints;
+import com.lostinspace.util.CommandEvent;
+import com.lostinspace.util.CommandJournal;
+import com.lostinspace.util.CommandMetrics;
+import com.lostinspace.util.ContentLoader;
 import com.lostinspace.util.FileGetter;
+import com.lostinspace.util.FileSetter;
 import com.lostinspace.util.GameEvents;
+import com.lostinspace.util.InputPipeline;
+import com.lostinspace.util.InputTokenizer;
+import com.lostinspace.util.ItemUseEvent;
+import com.lostinspace.util.LoadEvent;
+import com.lostinspace.util.RevealEvent;
+import com.lostinspace.util.ScreenRenderer;
+import com.lostinspace.util.TextCache;
 
 import org.fusesource.jansi.AnsiConsole;
 
+import static com.lostinspace.util.CommandMetrics.Family.*;
 import static org.fusesource.jansi.Ansi.Color.*;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.io.Reader;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 
 import java.util.*;
 
@@ -36,405 +56,642 @@ import static org.fusesource.jansi.Ansi.ansi;
 public class Controller {
     private final String os = System.getProperty("os.name").toLowerCase(); // identify operating system of user
     FileGetter filegetter = new FileGetter();       // FileGetter retrieves resources
-    GameEvents events = new GameEvents();           // ref to Game Event Methods
-
-    private Gson gson = new Gson();                    // Gson object converts JSON objects
-    private List<Room> roomsList;                      // import instance of game map from shipRooms.json (game features 16 distinct areas)
-    private List<Item> items;                          // import instance of list of collectable items
-    private List<HiddenItem> hiddenItems;              // import instance of list of items that begin as hidden
-    private List<Item> interactables;                  // import instance of list of interactable objects
-    private Map<String, Map<String, String>> itemUses; // map containing descriptions of item use results
-
-    // map containing locked doors and interactables
-    private Map<String, Boolean> lockedObjects = new HashMap<>(Map.of("bridge", false, "cabinet", true));
+    FileSetter filesetter = new FileSetter();       // FileSetter writes save games
+    private final TextCache texts = TextCache.shared(); // narrative screens, loaded once and shared by every session
+    private final InputPipeline input;              // where this session's commands come from, typed ahead into a queue
+    private final ScreenRenderer screen;            // draws this session's status screens
+    private final PrintStream out;                  // where this session's other text goes
+    private final CommandMetrics metrics;           // command latencies and counters, shared by every session
+    GameEvents events;                              // ref to Game Event Methods
+    private boolean running = true;                 // false once the player quits
+
+
+    // game content is parsed once per JVM and shared, read-only, by every session
+    private static WorldTemplate sharedTemplate;
+    private WorldTemplate template;                    // rooms, items, symbols and item uses
+    private GameState state;                           // what this session has changed: player, inventory, flags
+    private PackedState initialState;                  // packed snapshot of state when the game started, restored by restart()
+    private SymbolTable symbols;                       // every noun and synonym interned to an int id, from the template
+    private int directionBase;                         // symbol id of "north"; directions follow in Exit index order
+    private int roomKeyword;                           // symbol id of "room", as in INSPECT ROOM
+
+    private final CommandRegistry commands = loadCommands(); // every verb the player may enter
+    private final int goVerb = commands.idOf("go");            // verb id of GO, as in GO TO <room>
+    private final int travelVerb = commands.idOf("travel");    // verb id of TRAVEL <room>
+    private final InputTokenizer tokenizer = new InputTokenizer(); // reusable splitter for player input
+    private Path saveFile = Path.of("lostinspace.sav"); // where SAVE writes and LOAD reads this session's game
+    private ByteBuffer saveBuffer;                     // reused for every save and load, allocated on first use
+    private CommandJournal journal;                    // where accepted commands are logged, null when not journaling
+    private boolean checkpointed;                      // true once the running command has journaled a checkpoint
+    private static final byte EASY_MODE = 1;           // session flag a journal checkpoint keeps along with the state
+
+    // locked doors and interactables when a game starts
+    private static final Map<String, Boolean> LOCKED_OBJECTS = Map.of("bridge", false, "cabinet", true);
 
     // methods that define what happens after using items
-    private ItemUseMethods itemUseMethods = new ItemUseMethods();
+    private ItemUseMethods itemUseMethods = new ItemUseMethods(this);
 
-    // create player
-    private Player player = new Player("Cockpit", 80.00);
-    private List<Item> inventory = new ArrayList<>();  // player inventory, which is initially empty
+    // player is created in the starting room with each new game
+    private static final String START_ROOM = "Cockpit";
+    private double startingOxygen = 80.00;             // oxygen the player starts each game with
+    private double oxygenPerMove = 0.00;               // oxygen used by each move between rooms, 0 turns it off
 
+    // items the Chief needs, the game is won once all of them have been used
+    private static final List<String> OBJECTIVE_ITEMS = List.of("component", "tool", "manual");
 
-    //-------------------------------CONTROLLER METHODS
-
-    // Display prologue text
-    public void prologue() {
-        String text = ""; // empty return string
-
-        try (Reader data = filegetter.getResource("prologue.txt")) {
-            // load file from resources dir
-            BufferedReader reader = new BufferedReader(data);
-            StringBuilder sBuilder = new StringBuilder();
-            String line = null;
-            String ls = System.getProperty("line.separator");
-
-            // while true that there are still lines of characters to read
-            while ((line = reader.readLine()) != null) {
-                sBuilder.append(line);
-                sBuilder.append(ls);
-            }
+    // a session may start one new HINT search this often; answers already found are always given
+    private static final long HINT_COOLDOWN_NANOS = 5_000_000_000L;
+    private long lastHintSearch = System.nanoTime() - HINT_COOLDOWN_NANOS; // when this session last started a search
 
-            // delete the last new line separator
-            sBuilder.deleteCharAt(sBuilder.length() - 1);
-            reader.close();
-            text = sBuilder.toString();
-            String[] lines = text.split(System.getProperty("line.separator"));
-
-            double linesToDisplay = 13;
-            double printLimit = lines.length / linesToDisplay;
-            printLimit = Math.ceil(printLimit);
-
-            int idx = 0;
-            while (printLimit > 0) {
-                for (int i = 0; i < linesToDisplay; i++) {
-                    if (!lines[idx].equals(null)) {
-                        System.out.println(lines[idx]);
-                        idx++;
-                    }
-                    if (idx == lines.length) {
-                        break;
-                    }
-                }
-                events.enterToContinue();
-                printLimit--;
-            }
 
-            // throw IO Exception if failed
-        } catch (IOException err) {
-            err.printStackTrace();
-        }
+    // CTOR for a game played on the local console, written through Jansi so ANSI frames draw on every terminal
+    public Controller() {
+        this(new BufferedReader(new InputStreamReader(System.in)), AnsiConsole.out(), Charset.defaultCharset());
     }
 
-    // Display game Title Card
-    public void titleCard() throws IOException {
-        String content = ""; // empty return string
-
-        try (Reader title = filegetter.getResource("welcome.txt")) {
-            // load file from resources dir
+    // CTOR for a game session on its own streams, such as a network connection
+    public Controller(BufferedReader in, OutputStream out, Charset charset) {
+        this(in, out, charset, CommandMetrics.shared());
+    }
 
-            BufferedReader reader = new BufferedReader(title);
+    private Controller(BufferedReader in, OutputStream out, Charset charset, CommandMetrics metrics) {
+        this.metrics = metrics;
+        this.input = new InputPipeline(in);
+        this.screen = new ScreenRenderer(out, charset);
+        this.out = screen.getText();
+        this.events = new GameEvents(screen);
+    }
 
-            StringBuilder sB = new StringBuilder();            // sB builds title card line by line
-            String line = null;                                // empty string for line
-            String ls = System.lineSeparator();                // line separator
+    // creates a game with no console: output is discarded and ENTER pauses return at once
+    public static Controller headless() {
+        return new Controller(new BufferedReader(Reader.nullReader()), OutputStream.nullOutputStream(), Charset.defaultCharset(),
+                CommandMetrics.offline());                 // headless games don't count towards what players see
+    }
 
-            // while there are still lines of characters to read
-            while ((line = reader.readLine()) != null) {
-                sB.append(line);                    // append the next line to the SB
-                sB.append(ls);                      // new line
-            }
+    //-------------------------------CONTROLLER METHODS
 
-            sB.deleteCharAt(sB.length() - 1);       // delete the last new line separator
-            content = sB.toString();                // create new string with sB content
-            System.out.println(content);            // display title card!
+    // Display prologue text, one page at a time
+    public void prologue() {
+        events.showPages(texts.getPages(TextCache.PROLOGUE));  // each ENTER shows the next page
+    }
 
-        } catch (IOException err) {                 // throw IO Exception if failed
-            throw new RuntimeException(err);
-        }
+    // Display game Title Card
+    public void titleCard() throws IOException {
+        out.println(texts.getText(TextCache.TITLE));            // display title card!
         events.enterForNewGame();                  // user must press enter to continue
     }
 
     // Display user commands
     public void gameInstructions() {
-        String instructions = ""; // empty return string
-
-        try (Reader data = filegetter.getResource("tutorialText.txt")) {
-            // load file from resources dir
-            BufferedReader reader = new BufferedReader(data);
-            StringBuilder sBuilder = new StringBuilder();
-            String line = null;
-            String ls = System.getProperty("line.separator");
-
-            // while true that there are still lines of characters to read
-            while ((line = reader.readLine()) != null) {
-                sBuilder.append(line);
-                sBuilder.append(ls);
-            }
-            // delete the last new line separator
-            sBuilder.deleteCharAt(sBuilder.length() - 1);
-            reader.close();
-            instructions = sBuilder.toString();
-
-            System.out.println(instructions);
-            events.enterForNewGame();                  // user must press enter to continue
-
-            // throw IO Exception if failed
-        } catch (IOException err) {
-            err.printStackTrace();
-        }
+        out.println(texts.getText(TextCache.TUTORIAL));
+        events.enterForNewGame();                  // user must press enter to continue
     }
 
 
     //--------------------------------PLAYER METHODS
 
-    // commands the player may enter into the console
-    public void userCommands(String[] inputArr) throws IOException {
-        // SINGLE WORD COMMANDS
-        // display objectives
-        if (inputArr[0].equals("objectives")) {
-            objectives();
-        }
-
-        // exit the game
-        else if (inputArr[0].equals("exit") || inputArr[0].equals("quit") || inputArr[0].equals("escape")) {
-            quit();
-        }
-
-        // restart the game
-        else if (inputArr[0].equals("new") || inputArr[0].equals("restart") || inputArr[0].equals("escape")) {
-            restart();
-        }
+    // registers every verb the player may enter, and its aliases, with the handler for it
+    private CommandRegistry loadCommands() {
+        CommandRegistry registry = new CommandRegistry();
 
-        // restart the game
-        else if (inputArr[0].equals("help") || inputArr[0].equals("instructions")) {
+        // SINGLE WORD COMMANDS
+        registry.register(false, INFO, noun -> objectives(), "objectives");             // display objectives
+        registry.register(false, INFO, noun -> hint(), "hint");                         // suggest the next command
+        registry.register(false, GAME, noun -> quit(), "exit", "quit", "escape");       // exit the game
+        registry.register(false, GAME, noun -> restart(), "new", "restart", "escape");  // restart the game
+        registry.register(false, INFO, noun -> {                                        // display commands reminder
             clearConsole();
             help();
-        }
+        }, "help", "instructions");
+        registry.register(false, GAME, noun -> {                                        // save the game to disk
+            clearConsole();
+            saveCommand();
+            checkpointCommand();                                                        // journaled as state, not as a command
+            events.enterToContinue();
+        }, "save");
+        registry.register(false, GAME, noun -> {                                        // resume a saved game
+            clearConsole();
+            loadCommand();
+            checkpointCommand();                                                        // journaled as state, not as a command
+            events.enterToContinue();
+        }, "load", "resume");
 
         // make oxygen pipes never run out, this is a difficulty setting
         // call this command again to turn it back off
-        else if (inputArr[0].equals("easymode")) {
+        registry.register(false, GAME, noun -> {
             clearConsole();
 
             // either turns on or turns off easy mode
             itemUseMethods.setEasyMode(!itemUseMethods.isEasyMode());
+        }, "easymode");
+
+        // MULTI-WORD COMMANDS
+        registry.register(true, MOVE, this::goCommand, "go", "walk", "move", "run");
+        registry.register(true, MOVE, this::travelCommand, "travel", "goto");
+        registry.register(true, INSPECT, this::inspectCommand, "look", "inspect", "examine", "study", "investigate");
+        registry.register(true, GET, this::getCommand, "get", "grab");
+        registry.register(true, DROP, this::dropCommand, "drop", "release", "leave");
+        registry.register(true, USE, this::useCommand, "use");
+
+        return registry;
+    }
+
+    /*
+     * handles one line entered by the player
+     * a line entered at a pause ends it; unless it is blank it is then run as a command,
+     * so commands typed ahead during a pause aren't lost
+     */
+    public void handleInput(String line) throws IOException {
+        if (events.isPaused()) {
+            events.resume();
+            if (line.isBlank() || events.isPaused()) return;   // ENTER, or the next page of several
         }
+        userCommands(line);
+    }
 
-        // check for commands that are too short or too long
-        else if (inputArr.length < 2 || inputArr.length > 2) {
+    // commands the player may enter into the console
+    public void userCommands(CharSequence input) throws IOException {
+        long start = System.nanoTime();                        // commands are timed by family of verb
+        CommandEvent event = CommandEvent.isRecording() ? new CommandEvent() : null; // and recorded for Flight Recorder, when it's on
+        if (event != null) event.begin();
+        Room room = getPlayer().getRoom();                     // room the command was entered in
+        int words = tokenizer.tokenize(input);                 // split input into lowercase words
+
+        // check for empty commands
+        if (words == 0) {
+            metrics.invalidCommand();
             clearConsole();
-            if (inputArr[0].equals("")) {
-                System.out.println("\n\nEMPTY COMMAND!\n\n");
-            } else {
-                System.out.println("I don't know how to simply, \"" + inputArr[0] + "\". I need a target to " + inputArr[0] + "!");
-            }
+            out.println("\n\nEMPTY COMMAND!\n\n");
             events.enterToContinue();
-        } else if (inputArr.length > 2) {
+            commitCommand(event, words, SymbolTable.NONE, room);
+            return;
+        }
+
+        // resolve the verb once
+        int verb = commands.lookup(tokenizer.buffer(), tokenizer.start(0), tokenizer.length(0));
+        checkpointed = false;
+
+        // SINGLE WORD COMMANDS
+        if (verb != SymbolTable.NONE && !commands.needsTarget(verb)) {
+            commands.get(verb).execute(SymbolTable.NONE);
+            metrics.record(commands.familyOf(verb), System.nanoTime() - start);
+        }
+
+        // TRAVEL COMMANDS
+        // the rest of the line names a room, which may be several words: TRAVEL CARGO HOLD, GO TO CARGO HOLD
+        else if (roomNameStart(verb, words) > 0) {
+            commands.get(travelVerb).execute(roomOf(roomNameStart(verb, words)));
+            metrics.record(MOVE, System.nanoTime() - start);
+        }
+
+        // check for commands that are too short or too long
+        else if (words != 2) {
+            metrics.invalidCommand();
             clearConsole();
-            System.out.println("Too many words in your command." + "\nOnly use VALID 2-WORD commands!");
+            out.println("I don't know how to simply, \"" + tokenizer.word(0) + "\". I need a target to " + tokenizer.word(0) + "!");
             events.enterToContinue();
         }
 
         // MULTI-WORD COMMANDS
-        // movement commands
-        else if (inputArr[0].equals("go") || inputArr[0].equals("walk") || inputArr[0].equals("move") || inputArr[0].equals("run")) {
-            // check that player is allowed to go in that direction
-            player.setCurrentRoom(move(getRoomsList(), player.getCurrentRoom(), inputArr[1]));
-        }
-
-        // inspect rooms, items, or anything listed as a Point of interest
-        else if (inputArr[0].equals("look") || inputArr[0].equals("inspect") || inputArr[0].equals("examine") || inputArr[0].equals("study") || inputArr[0].equals("investigate")) {
-            // rooms are inspected differently than items
-            if (inputArr[1].equals("room")) {
-                clearConsole();
-                System.out.println(inspectRoom(getItems(), getInteractables(), getRoomsList(), player.getCurrentRoom()));
-                events.enterToContinue();
-            } else {
-                clearConsole();
-                System.out.println(inspectItem(getItems(), getInteractables(), player.getCurrentRoom(), inputArr[1]));
-                events.enterToContinue();
-            }
+        // resolve the target of a 2-word command once, every later check compares ids
+        else if (verb != SymbolTable.NONE) {
+            commands.get(verb).execute(symbols.idOf(tokenizer.buffer(), tokenizer.start(1), tokenizer.length(1)));
+            metrics.record(commands.familyOf(verb), System.nanoTime() - start);
         }
 
-        // getting items from rooms
-        else if (inputArr[0].equals("get") || inputArr[0].equals("grab")) {
+        // invalid command
+        else {
+            metrics.invalidCommand();
             clearConsole();
-            pickUpItem(inputArr[1]);
+            out.println("I don't know how to " + tokenizer.word(0) + " something!\n\n!***** Ensure you PRESS ENTER to continue to the Command Prompt before entering Commands! *****!");
             events.enterToContinue();
-        } else if (inputArr[0].equals("drop") || inputArr[0].equals("release") || inputArr[0].equals("leave")) {
-            // iterate through the inventory
-            for (int i = 0; i < getInventory().size(); i++) {
-                if (inputArr[1].equals(getInventory().get(i).getName())) {     // find name of item to drop
-                    String itemToRemoveName = getInventory().get(i).getName(); // remove item from inventory
-                    Item removedItem = getInventory().remove(i);               //
-                    System.out.printf("Dropped %s!\n", itemToRemoveName);
-                    // and remove the item from the room's item list
-                    getItems().add(removedItem);
-                } else {
-                    System.out.printf("I can't drop %s because %s isn't there!", inputArr[1], inputArr[1]);
+        }
+
+        commitCommand(event, words, verb, room);
+        journal(input, verb);
+    }
+
+    // records a command for Flight Recorder, building its strings only when a recording wants the event
+    private void commitCommand(CommandEvent event, int words, int verb, Room room) {
+        if (event == null) return;                             // no recording was on when the command started
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.commit(
+                words > 0 ? tokenizer.word(0) : "",
+                words > 1 ? tokenizer.word(1) : null,
+                verb != SymbolTable.NONE ? commands.familyOf(verb).label() : "invalid",
+                room.getName());
+    }
+
+    /*
+     * logs an accepted command to the journal, if there is one
+     * commands that checkpointed (SAVE, LOAD) are covered by their checkpoint instead,
+     * so replaying never touches save files, and commands that only show something (HELP, HINT) are left out
+     */
+    private void journal(CharSequence input, int verb) {
+        if (journal == null || checkpointed) return;
+        if (verb != SymbolTable.NONE && commands.familyOf(verb) == INFO) return;
+        try {
+            journal.command(input);
+            if (journal.isCheckpointDue()) {
+                checkpoint();
+            }
+        } catch (IOException err) {
+            dropJournal(err);
+        }
+    }
+
+    // checkpoints the journal for a command that changed the state wholesale, such as LOAD
+    private void checkpointCommand() {
+        try {
+            checkpoint();
+        } catch (IOException err) {
+            dropJournal(err);
+        }
+    }
+
+    // stops journaling once the journal can't be written, so a full disk never ends the game being played
+    private void dropJournal(IOException err) {
+        System.err.println("Journal stopped, commands are no longer logged: " + err.getMessage());
+        try {
+            journal.close();
+        } catch (IOException ignored) {
+            // the journal is being given up on already
+        }
+        journal = null;
+    }
+
+    // writes this session's whole state and its flags to the journal, so replay can start from here
+    public void checkpoint() throws IOException {
+        if (journal == null) return;
+        ByteBuffer buf = saveBuffer();
+        buf.clear();
+        buf.put(itemUseMethods.isEasyMode() ? EASY_MODE : 0);
+        SaveGame.encode(state, template, buf);
+        journal.checkpoint(buf.flip());
+        checkpointed = true;
+    }
+
+    /*
+     * journals every later command to a file, starting with a checkpoint of the session as it is now
+     * a journal left by an earlier run is replayed first, so a crashed session carries on where it stopped
+     * returns the number of commands replayed
+     */
+    public int startJournal(Path file) throws IOException {
+        int replayed = 0;
+        if (Files.exists(file)) {
+            Controller replay = rulesCopy();
+            replayed = replay.replayJournal(file);
+            state.restore(replay.state);
+            itemUseMethods.setEasyMode(replay.itemUseMethods.isEasyMode());
+        }
+        journal = new CommandJournal(file);
+        checkpoint();
+        return replayed;
+    }
+
+    // flushes and closes the journal, if there is one
+    public void stopJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /*
+     * rebuilds this session from a journal: the last checkpoint, then every command after it
+     * meant for a headless controller, whose pauses return at once and whose output is discarded
+     * returns the number of commands replayed
+     */
+    public int replayJournal(Path file) throws IOException {
+        return CommandJournal.replay(file, new CommandJournal.Listener() {
+            @Override
+            public void checkpoint(ByteBuffer savedState) throws IOException {
+                if (!savedState.hasRemaining()) {
+                    throw new IOException("Journal checkpoint is empty");
                 }
+                byte flags = savedState.get();
+                SaveGame.decode(savedState, template, state);
+                itemUseMethods.setEasyMode((flags & EASY_MODE) != 0);
             }
+
+            @Override
+            public void command(String line) throws IOException {
+                userCommands(line);
+            }
+        });
+    }
+
+    // movement commands
+    private void goCommand(int noun) throws IOException {
+        // check that player is allowed to go in that direction
+        Player player = getPlayer();
+        Room from = player.getRoom();
+        player.setCurrentRoom(move(from, noun - directionBase, tokenizer.word(1)));
+        if (player.getRoom() != from) {
+            player.consumeOxygen(oxygenPerMove);           // moving between rooms uses up oxygen
         }
+    }
 
-        // using items and interactables
-        else if (inputArr[0].equals("use")) {
-            // check that player is allowed to use the item, then display the results
-            clearConsole();
-            useItem(getInventory(), getInteractables(), inputArr[1]);
-            events.enterToContinue();
+    // inspect rooms, items, or anything listed as a Point of interest
+    private void inspectCommand(int noun) throws IOException {
+        clearConsole();
+        // rooms are inspected differently than items
+        if (noun == roomKeyword) {
+            out.println(inspectRoom(getPlayer().getRoom()));
+        } else {
+            out.println(inspectItem(getPlayer().getRoom(), noun, tokenizer.word(1)));
         }
+        events.enterToContinue();
+    }
 
-        // invalid command
-        else {
-            clearConsole();
-            System.out.println("I don't know how to " + inputArr[0] + " something!\n\n!***** Ensure you PRESS ENTER to continue to the Command Prompt before entering Commands! *****!");
-            events.enterToContinue();
+    // getting items from rooms
+    private void getCommand(int noun) throws IOException {
+        clearConsole();
+        pickUpItem(noun, tokenizer.word(1));
+        events.enterToContinue();
+    }
+
+    // dropping items into the current room
+    private void dropCommand(int noun) {
+        // iterate through the inventory
+        for (int i = 0; i < getInventory().size(); i++) {
+            if (noun == getInventory().get(i).getId()) {                   // find the item to drop
+                Item removedItem = getInventory().remove(i);               // remove item from inventory
+                out.printf("Dropped %s!\n", removedItem.getName());
+                // and add the item to the current room's item list
+                getItemsInRoom().add(getPlayer().getRoom().getId(), removedItem);
+                return;
+            }
         }
+        String word = tokenizer.word(1);
+        out.printf("I can't drop %s because %s isn't there!", word, word);
+    }
+
+    // using items and interactables
+    private void useCommand(int noun) throws IOException {
+        // check that player is allowed to use the item, then display the results
+        clearConsole();
+        useItem(getInventory(), noun, tokenizer.word(1));
+        events.enterToContinue();
     }
 
     // Display commands reminder
     public void help() {
-        String instructions = ""; // empty return string
-
-        try (Reader data = filegetter.getResource("instructions.txt")) {
-            // load file from resources dir
-            BufferedReader reader = new BufferedReader(data);
-            StringBuilder sBuilder = new StringBuilder();
-            String line = null;
-            String ls = System.getProperty("line.separator");
-
-            // while true that there are still lines of characters to read
-            while ((line = reader.readLine()) != null) {
-                sBuilder.append(line);
-                sBuilder.append(ls);
+        out.println(texts.getText(TextCache.HELP));
+        events.enterToContinue();                  // user must press enter to continue
+    }
+
+    /*
+     * suggests the next command on the shortest way to a win from here,
+     * found by searching every state the game can reach, up to a limit, on the shared hint pool
+     * answers are shared by every session in the same state; a session may only start a new search every few seconds
+     */
+    public void hint() {
+        clearConsole();
+        Hints.Hint hint = Hints.shared().cached(this);
+        if (hint == null) {
+            long now = System.nanoTime();
+            if (now - lastHintSearch < HINT_COOLDOWN_NANOS) {
+                out.println("\nHINT: The ship's computer is still cooling down. Ask again in a few seconds.");
+                events.enterToContinue();
+                return;
             }
-            // delete the last new line separator
-            sBuilder.deleteCharAt(sBuilder.length() - 1);
-            reader.close();
-            instructions = sBuilder.toString();
+            lastHintSearch = now;
+            hint = Hints.shared().next(this, this::rulesCopy);
+        }
+
+        if (hint.isWinnable() && hint.getNextCommand() == null) {
+            out.println("\nHINT: You've already done everything the Chief needs!");
+        } else if (hint.isWinnable()) {
+            out.printf("\nHINT: Try \"%s\".\n\nYou're %d command%s away from getting off this ship.\n",
+                    hint.getNextCommand().toUpperCase(), hint.getCommandsLeft(), hint.getCommandsLeft() == 1 ? "" : "s");
+        } else if (!hint.isComplete()) {
+            out.println("\nHINT: There's too much left to do to see a way from here. Try INSPECTing everything!");
+        } else {
+            out.println("\nHINT: There's no way left to finish the mission from here. Try RESTART.");
+        }
+        events.enterToContinue();
+    }
 
-            System.out.println(instructions);
-            events.enterToContinue();                  // user must press enter to continue
+    // returns a headless game on this session's template and rules, which the HINT solver and journal replay play on
+    private Controller rulesCopy() {
+        Controller game = headless();
+        game.setBatchMode(true);
+        game.setStartingOxygen(startingOxygen);
+        game.setOxygenPerMove(oxygenPerMove);
+        game.getItemUseMethods().setEasyMode(itemUseMethods.isEasyMode());
+        game.getItemUseMethods().setOxygenRefill(itemUseMethods.getOxygenRefill());
+        game.loadGameObjects(template);
+        return game;
+    }
 
-            // throw IO Exception if failed
+    // restarts game when called by restoring this session's starting snapshot in place, nothing is re-read
+    public void restart() {
+        initialState.unpack(state, template);
+    }
+
+    // saves the game, telling the player whether it worked
+    private void saveCommand() {
+        try {
+            saveGame(saveFile);
+            out.println("Game SAVED. Use LOAD to pick up from here.");
         } catch (IOException err) {
-            err.printStackTrace();
+            out.println("The game could not be saved: " + err.getMessage());
         }
     }
 
-    // restarts game when called
-    public void restart() {
-        String[] string = {};
+    // loads the saved game, telling the player whether it worked
+    private void loadCommand() {
         try {
-            App.main(string);
+            loadGame(saveFile);
+            out.println("Saved game LOADED.");
+        } catch (NoSuchFileException err) {
+            out.println("There is no saved game to LOAD yet. Use SAVE first!");
         } catch (IOException err) {
-            err.printStackTrace();
+            out.println("The saved game could not be loaded: " + err.getMessage());
         }
     }
 
-    // quits the game when called
+    // writes this session's state to a file in the compact SaveGame format
+    public void saveGame(Path file) throws IOException {
+        ByteBuffer buf = saveBuffer();
+        buf.clear();
+        SaveGame.encode(state, template, buf);
+        filesetter.save(file, buf.flip());
+    }
+
+    // replaces this session's state with the one saved in a file, leaving it untouched if the file can't be read
+    public void loadGame(Path file) throws IOException {
+        LoadEvent event = LoadEvent.isRecording() ? new LoadEvent() : null;
+        if (event != null) event.begin();
+        SaveGame.decode(filegetter.read(file, saveBuffer()), template, state);
+        if (event != null && event.shouldCommit()) event.commit("loadGame", file.toString());
+    }
+
+    // returns the buffer saves are made in, big enough for any save of this session's content and a checkpoint's flags
+    private ByteBuffer saveBuffer() throws IOException {
+        int size = SaveGame.maxSize(template) + 1;
+        if (saveBuffer == null || saveBuffer.capacity() < size) {
+            saveBuffer = ByteBuffer.allocate(size);
+        }
+        return saveBuffer;
+    }
+
+    // quits the game when called, the session ends once the current command returns
     public void quit() {
-        System.exit(0);
+        running = false;
+    }
+
+    // waits for the next line the player enters, returns null when the player has disconnected
+    public String readCommand() throws IOException {
+        return input.take();
+    }
+
+    // returns true while the session waits for the player to press ENTER
+    public boolean isPaused() {
+        return events.isPaused();
     }
 
     // display game winning objectives
     public void objectives() throws IOException {
-        String content = ""; // empty return string
+        out.println(texts.getText(TextCache.OBJECTIVES));
+        events.enterForNewGame();                  // user must press enter to continue
+    }
 
-        try (Reader objectives = filegetter.getResource("gameobjectives.txt")) {
-            // load file from resources dir
+    /*
+     * composes the current status of the player, including
+     * current location, inventory, and oxygen levels
+     * the status is drawn, together with the prompt, by prompt()
+     */
+    public void showStatus(String location, String description) {
+        screen.line(YELLOW, "--------------------------------");
 
-            BufferedReader reader = new BufferedReader(objectives);
+        screen.line("You are in the " + location);                   // the player's current location
+        screen.line("");
 
-            StringBuilder sB = new StringBuilder();            // sB builds title card line by line
-            String line = null;                                // empty string for line
-            String ls = System.lineSeparator();                // line separator
+        screen.line(GREEN, description);                             // description of current room
+        screen.line("");
 
-            // while there are still lines of characters to read
-            while ((line = reader.readLine()) != null) {
-                sB.append(line);                    // append the next line to the SB
-                sB.append(ls);                      // new line
-            }
+        // list what the player is carrying
+        StringBuilder itemsInInventory = new StringBuilder("Inventory: ");
+        for (int i = 0; i < getInventory().size(); i++) {
+            itemsInInventory.append(" - ").append(getInventory().get(i).getName());
+        }
+        screen.line(BLUE, itemsInInventory.toString());
+        screen.line("");
 
-            sB.deleteCharAt(sB.length() - 1);       // delete the last new line separator
-            content = sB.toString();                // create new string with sB content
-            System.out.println(content);            // display title card!
+        // round oxygen percentage down to 2 decimal places
+        double roundOff = Math.round(getPlayer().getOxygen() * 100) / 100;
 
-        } catch (IOException err) {                 // throw IO Exception if failed
-            throw new RuntimeException(err);
-        }
-        events.enterForNewGame();                  // user must press enter to continue
+        // remaining oxygen
+        screen.line(RED, String.format("Oxygen Level: %.2f percent", roundOff));
+
+        screen.line(YELLOW, "--------------------------------");
     }
 
     /*
-     * displays the current status of the player, including
-     * current location, inventory, and oxygen levels
+     * auto-navigation: walks the player to a room along the shortest route, one move at a time,
+     * each using oxygen as a GO would; stops at a locked door, or when the oxygen runs out
      */
-    public void showStatus(String location, String description) {
+    private void travelCommand(int target) throws IOException {
         clearConsole();
-        System.out.println(ansi().fg(YELLOW).a("--------------------------------").reset());
+        Player player = getPlayer();
 
-        System.out.println("You are in the " + location + '\n');            //print the player 's current location
-
-        System.out.println(ansi().fg(GREEN).a(description).reset());          // print description of current room
+        if (target == SymbolTable.NONE) {
+            boolean travel = commands.lookup(tokenizer.buffer(), tokenizer.start(0), tokenizer.length(0)) == travelVerb;
+            out.println("\nUNKNOWN ROOM: " + roomName(travel ? 1 : 2));
+            out.println("\nTRAVEL needs the name of a room on the ship. (Hint: INSPECT ROOM to see where exits lead)");
+            events.enterToContinue();
+            return;
+        }
+        if (target == player.getRoom().getId()) {
+            out.println("\nYou're already in the " + player.getRoom().getName() + ".");
+            events.enterToContinue();
+            return;
+        }
 
-        String itemsInInventory = "";  // make empty string to hold item names
+        RouteTable routes = template.getRoutes(state);
+        if (routes.nextStep(player.getRoom().getId(), target) == RouteTable.NO_ROUTE) {
+            out.println("\nYou can't find a way to the " + getMap().getRoomName(target) + " from here.");
+            events.enterToContinue();
+            return;
+        }
 
-        //iterate through the inventory and add each item to the string
-        for (int i = 0; i < getInventory().size(); i++) {
-            itemsInInventory += " - " + getInventory().get(i).getName();
+        out.println("\nYou make your way toward the " + getMap().getRoomName(target) + "...\n");
+        while (player.getRoom().getId() != target) {
+            Room from = player.getRoom();
+            int direction = routes.nextStep(from.getId(), target);
+            Room to = move(from, direction, Exit.DIRECTION_NAMES[direction]);   // shows why, if the way is locked
+            if (to == from) return;
+            player.setCurrentRoom(to);
+            player.consumeOxygen(oxygenPerMove);
+            out.println("- " + to.getName());
+            if (oxygenPerMove > 0 && player.getOxygen() <= 0) break;            // no air left to go further
         }
+        events.enterToContinue();
+    }
 
-        // print what the player is carrying
-        System.out.println(ansi().fg(BLUE).a(String.format("\nInventory: %s", itemsInInventory)).reset());
+    // returns the index of the first word of the room name in a travel command, or 0 if it isn't one
+    private int roomNameStart(int verb, int words) {
+        if (verb == travelVerb && words >= 2) return 1;
+        if (verb == goVerb && words >= 3 && tokenizer.length(1) == 2
+                && tokenizer.buffer()[tokenizer.start(1)] == 't' && tokenizer.buffer()[tokenizer.start(1) + 1] == 'o') return 2;
+        return 0;
+    }
 
-        // round oxygen percentage down to 2 decimal places
-        double roundOff = Math.round(player.getOxygen() * 100) / 100;
+    // returns the words from 'first' on, joined by single spaces, as the player named a room
+    private String roomName(int first) {
+        StringBuilder name = new StringBuilder();
+        for (int i = first; i < tokenizer.count(); i++) {
+            if (i > first) name.append(' ');
+            name.append(tokenizer.buffer(), tokenizer.start(i), tokenizer.length(i));
+        }
+        return name.toString();
+    }
 
-        // print remaining oxygen
-        System.out.println(ansi().fg(RED).a(String.format("\nOxygen Level: %.2f" +
-                " percent", roundOff)).reset());
+    // returns the id of the room named by the words from 'first' on, or SymbolTable.NONE if they don't name a room
+    private int roomOf(int first) {
+        int id = symbols.idOf(roomName(first));
+        return id >= 0 && id < getMap().getRoomCount() ? id : SymbolTable.NONE;   // a room's symbol id is its room id
+    }
 
-        System.out.println(ansi().fg(YELLOW).a("--------------------------------").reset());
+    // adds the prompt below the status, then draws the screen, redrawing only what changed since the last one
+    public void prompt(String prompt) {
+        screen.line(prompt);
+        screen.present();
     }
 
     /*
-     * moves player between rooms in map by finding valid exits
+     * moves player between rooms in map by following the current room's exits
      * prompts player to INSPECT ROOM when invalid choice is given.
-     * returns string which resets currentRoom in App
+     * returns the room which resets currentRoom for the player
      */
-    public String move(List<Room> map, String room, String dir) throws IOException {
-        String retRoom = ""; // create empty string to hold return room
-
-        // iterate through map
-        for (int i = 0; i < map.size(); i++) {
-            // if the direction desired exists as an exit in that room...
-            if (map.get(i).getName().equals(room)) {
-                // ...then reassign return room as the room in that direction
-                switch (dir) {
-                    case "north":
-                        retRoom = map.get(i).exits.getNorth();
-                        break;
-
-                    case "south":
-                        retRoom = map.get(i).exits.getSouth();
-                        break;
-
-                    case "east":
-                        retRoom = map.get(i).exits.getEast();
-                        break;
-
-                    case "west":
-                        retRoom = map.get(i).exits.getWest();
-                        break;
-                    // if an invalid direction is chosen, tell the player
-                    default:
-                        System.out.println("\nINVALID DIRECTION: " + dir);
-                        System.out.println("\nChoose a valid direction. (Hint: INSPECT ROOM if you're lost)");
-                        retRoom = room;
-                        events.enterToContinue();
-                        break;
-                }
+    public Room move(Room room, int direction, String dir) throws IOException {
+        // if an invalid direction is chosen, tell the player
+        if (direction < 0 || direction >= Exit.DIRECTION_COUNT) {
+            out.println("\nINVALID DIRECTION: " + dir);
+            out.println("\nChoose a valid direction. (Hint: INSPECT ROOM if you're lost)");
+            events.enterToContinue();
+            return room;
+        }
 
-                // if retRoom is an empty string then there is no exit in that direction
-                if (retRoom.equals("")) {
-                    System.out.println("\nINVALID DIRECTION: " + dir);
-                    System.out.println("\nThere is no EXIT in that DIRECTION. (Hint: INSPECT ROOM if you're lost)");
-                    retRoom = room;
-                    events.enterToContinue();
+        Room retRoom = room.getExit(direction); // room in that direction, if there is one
 
-                    return retRoom; // return back to starting room
-                }
-                // else, check if this room is locked
-                else if (lockedObjects.containsKey(retRoom.toLowerCase())) {
-                    if (lockedObjects.get(retRoom.toLowerCase())) {
-                        System.out.printf("\nThe %s is LOCKED!\n\nYou must find a means to open it first.", retRoom);
-                        retRoom = room;
-                        events.enterToContinue();
-                    }
-                }
-            }
+        // if retRoom is null then there is no exit in that direction
+        if (retRoom == null) {
+            out.println("\nINVALID DIRECTION: " + dir);
+            out.println("\nThere is no EXIT in that DIRECTION. (Hint: INSPECT ROOM if you're lost)");
+            events.enterToContinue();
+
+            return room; // return back to starting room
+        }
+        // else, check if this room is locked (a room's id is also its symbol id)
+        else if (state.isLocked(retRoom.getId())) {
+            metrics.lockedDoorHit();
+            out.printf("\nThe %s is LOCKED!\n\nYou must find a means to open it first.", retRoom.getName());
+            events.enterToContinue();
+            return room;
         }
         return retRoom; // return new room
     }
@@ -443,50 +700,38 @@ public class Controller {
      * allows player to inspect rooms to find items and exits
      * returns string detailing
      */
-    public String inspectRoom(List<Item> items, List<Item> interactables, List<Room> rooms, String room) {
+    public String inspectRoom(Room currentRoom) {
         String roomDescription = "You survey the area. \n\nYou're able to find: \n"; // string holds return description
-        System.out.println("Current Room: " + room);
-        // iterate through room list
-        for (int i = 0; i < items.size(); i++) {
-            for (int j = 0; j < items.get(i).getRoom().size(); j++) {
-                if (items.get(i).getRoom().get(j).equals(room)) {              // ensure item is in same room as player
-                    // first add all items to return
-                    roomDescription = roomDescription + "- " + items.get(i).getFullName() + "\n";
-                }
-            }
+        out.println("Current Room: " + currentRoom.getName());
+
+        // first add all items in the same room as player to return
+        for (Item item : getItemsInRoom().get(currentRoom.getId())) {
+            roomDescription = roomDescription + "- " + item.getFullName() + "\n";
         }
 
-        for (int i = 0; i < interactables.size(); i++) {
-            for (int j = 0; j < interactables.get(i).getRoom().size(); j++) {
-                if (interactables.get(i).getRoom().get(j).equals(room)) {              // ensure item is in same room as player
-                    // first add all items to return
-                    roomDescription = roomDescription + "- " + interactables.get(i).getFullName() + "\n";
-                }
-            }
+        // then all interactables in the same room
+        for (Item interactable : getInteractablesInRoom().get(currentRoom.getId())) {
+            roomDescription = roomDescription + "- " + interactable.getFullName() + "\n";
         }
 
         roomDescription = roomDescription + "\nExits: \n";            // then add a header for exits from the room
 
-        for (int i = 0; i < rooms.size(); i++) {
-            if (rooms.get(i).getName().equals(room)) {
-                // add each existing exit to the return string
-                if (!rooms.get(i).exits.getNorth().equals("")) {          // ignore non-exits
-                    roomDescription = roomDescription + "- North: " + rooms.get(i).exits.getNorth() + "\n";
-                }
-                if (!rooms.get(i).exits.getSouth().equals("")) {
-                    roomDescription = roomDescription + "- South: " + rooms.get(i).exits.getSouth() + "\n";
-                }
-                if (!rooms.get(i).exits.getEast().equals("")) {
-                    roomDescription = roomDescription + "- East: " + rooms.get(i).exits.getEast() + "\n";
-                }
-                if (!rooms.get(i).exits.getWest().equals("")) {
-                    roomDescription = roomDescription + "- West: " + rooms.get(i).exits.getWest() + "\n";
-                }
-
-                roomDescription = roomDescription + "\n"; // add a new line for formatting
-            }
+        // add each existing exit to the return string
+        Exit exits = currentRoom.getExits();
+        if (currentRoom.getExit(Exit.NORTH) != null) {          // ignore non-exits
+            roomDescription = roomDescription + "- North: " + exits.getNorth() + "\n";
+        }
+        if (currentRoom.getExit(Exit.SOUTH) != null) {
+            roomDescription = roomDescription + "- South: " + exits.getSouth() + "\n";
+        }
+        if (currentRoom.getExit(Exit.EAST) != null) {
+            roomDescription = roomDescription + "- East: " + exits.getEast() + "\n";
+        }
+        if (currentRoom.getExit(Exit.WEST) != null) {
+            roomDescription = roomDescription + "- West: " + exits.getWest() + "\n";
         }
 
+        roomDescription = roomDescription + "\n"; // add a new line for formatting
 
         return roomDescription;                       // return description
     }
@@ -495,53 +740,30 @@ public class Controller {
      * allows player to inspect items and pointsOfInterest
      * returns string detailing what was inspected
      */
-    public String inspectItem(List<Item> items, List<Item> interactables, String room, String toBeInspected) {
-        String itemDescription = "I cannot INSPECT " + toBeInspected + "!"; // create empty string to hold return description
-
+    public String inspectItem(Room room, int noun, String toBeInspected) {
         // iterate through inventory list
         for (int i = 0; i < getInventory().size(); i++) {
             // find the inventory item matching the inspected item
-            if (getInventory().get(i).getName().equals(toBeInspected) || getInventory().get(i).getSynonyms().contains(toBeInspected)) {
-                if (!getInventory().get(i).isUsed()) {
-                    return getInventory().get(i).getDescription();     // then return the unused description
-                } else {
-                    return getInventory().get(i).getUsedDescription(); // if it has return the used description
-                }
-            } else {
-                itemDescription = "There is no \"" + toBeInspected + "\".\n\n(Use INSPECT ROOM if you are looking for an item!)";
+            if (getInventory().get(i).getId() == noun) {
+                return describe(getInventory().get(i));
             }
         }
 
-        // iterate through items list
-        for (int i = 0; i < items.size(); i++) {
-            if (items.get(i).getName().equals(toBeInspected) || items.get(i).getSynonyms().contains(toBeInspected)) {  // find the items matching the inspected item
-                if (items.get(i).getRoom().contains(room)) {            // if instance of item in the same room
-                    if (!items.get(i).isUsed()) {
-                        return items.get(i).getDescription();     // then return the unused description
-                    } else {
-                        return items.get(i).getUsedDescription();   // if it has return the used description
-                    }
-                }
-            } else {
-                itemDescription = "There is no \"" + toBeInspected + "\".\n\n(Use INSPECT ROOM if you are looking for an item!)";
-            }
+        // then look for an item or interactable in the same room
+        Item item = getItemsInRoom().find(room.getId(), noun);
+        if (item == null) {
+            item = getInteractablesInRoom().find(room.getId(), noun);
         }
-
-        // iterate through interactables list
-        for (int i = 0; i < interactables.size(); i++) {
-            if (interactables.get(i).getName().equals(toBeInspected) || interactables.get(i).getSynonyms().contains(toBeInspected)) {  // find the interactables matching the inspected item
-                if (interactables.get(i).getRoom().contains(room)) {            // if instance of interactable in the same room
-                    if (!interactables.get(i).isUsed()) {
-                        return interactables.get(i).getDescription();     // then return the unused description
-                    } else {
-                        return interactables.get(i).getUsedDescription();   // if it has return the used description
-                    }
-                }
-            } else {
-                itemDescription = "There is no \"" + toBeInspected + "\".\n\n(Use INSPECT ROOM if you are looking for an item!)";
-            }
+        if (item != null) {
+            return describe(item);
         }
-        return itemDescription; // return description
+
+        return "There is no \"" + toBeInspected + "\".\n\n(Use INSPECT ROOM if you are looking for an item!)";
+    }
+
+    // returns the unused description of an item, or the used description if it has been used
+    private String describe(Item item) {
+        return !isUsed(item) ? item.getDescription() : item.getUsedDescription();
     }
 
     /*
@@ -549,162 +771,146 @@ public class Controller {
      * using certain interactables will call this automatically
      */
     public void pickUpItem(String toBePickedUp) throws IOException {
-        // look into the arraylist of items
-        for (Iterator<Item> iter = getItems().iterator(); iter.hasNext(); ) {
-            Item item = iter.next();
-            // if the user input matches the item name AND the item has not been used
-            if (toBePickedUp.equals(item.getName())) {
-                // then it will add that item to the user's inventory list in memory
-                getInventory().add(item);
-                System.out.printf("\nYou picked up the %s!\n", item.getName().toUpperCase());
-                System.out.printf("You stow the %s away in your field bag", item.getName().toUpperCase());
-
-                // and remove the item from the room's item list
-                iter.remove();
-                return;
-            }
+        pickUpItem(symbols.idOf(toBePickedUp), toBePickedUp);
+    }
+
+    public void pickUpItem(int noun, String toBePickedUp) throws IOException {
+        // look for the item in the current room
+        int roomId = getPlayer().getRoom().getId();
+        Item item = getItemsInRoom().find(roomId, noun);
+        if (item != null) {
+            // then it will add that item to the user's inventory list in memory
+            getInventory().add(item);
+            out.printf("\nYou picked up the %s!\n", item.getName().toUpperCase());
+            out.printf("You stow the %s away in your field bag", item.getName().toUpperCase());
+
+            // and remove the item from the room's item list
+            getItemsInRoom().remove(roomId, item);
+            return;
         }
         // Default message if nothing is able to be picked up
-        System.out.printf("There is no %s that you can see to GET in this ROOM!\n\n(Some items are hidden, INSPECT objects to find hidden items!)", toBePickedUp.toUpperCase());
+        out.printf("There is no %s that you can see to GET in this ROOM!\n\n(Some items are hidden, INSPECT objects to find hidden items!)", toBePickedUp.toUpperCase());
     }
 
     /*
      * allows player to use items and pointsOfInterest
      * returns string detailing what was the result
      */
-    public void useItem(List<Item> inventory, List<Item> interactables, String toBeUsed) throws IOException {
-        // instantiate a null Method class object
-        Method method;
-
+    public void useItem(List<Item> inventory, int noun, String toBeUsed) throws IOException {
         // iterate through inventory list
         for (int i = 0; i < inventory.size(); i++) {
             // if the item toBeUsed is in the inventory
-            if (inventory.get(i).getName().equals(toBeUsed) || inventory.get(i).getSynonyms().contains(toBeUsed)) {
-                if (!inventory.get(i).isUsed()) {
-                    inventory.get(i).setUsed(true);
-                    // this allows one to retrieve any method using reflection
-                    try {
-                        // get meta data from ItemUseMethods class using an instance
-                        @SuppressWarnings("unchecked") Class<ItemUseMethods> clazz = (Class<ItemUseMethods>) itemUseMethods.getClass();
-                        // reassign method using the .getMethod() method from .getClass() via Java reflection
-                        method = clazz.getMethod(itemUses.get(toBeUsed).get("method"));
-                    } catch (NoSuchMethodException err) {
-                        throw new RuntimeException(err);
-                    }
-
-                    try {
-                        clearConsole();
-                        // display description of use effects to player
-                        System.out.println(itemUses.get(toBeUsed).get("useDescription"));
-                        // invoke the method retrieved above, this allows any item object to be used the same way
-                        method.invoke(itemUseMethods);
-                        return;
-                    } catch (IllegalAccessException | InvocationTargetException err) {
-                        throw new RuntimeException(err);
-                    }
+            if (inventory.get(i).getId() == noun) {
+                if (!isUsed(inventory.get(i))) {
+                    setUsed(noun, true);
+                    clearConsole();
+                    invokeItemUse(noun);
                 } else {
                     // if the item has been used already, use different description text
-                    System.out.println(inventory.get(i).getUsedDescription());
-                    return;
+                    out.println(inventory.get(i).getUsedDescription());
                 }
+                return;
             }
         }
 
-        // iterate through interactables list
-        for (int i = 0; i < interactables.size(); i++) {
-            // if the item toBeUsed is an interactable
-            if (interactables.get(i).getName().equals(toBeUsed) || interactables.get(i).getSynonyms().contains(toBeUsed)) {
-                if (lockedObjects.containsKey(interactables.get(i).getName())) {
-                    if (!lockedObjects.get(interactables.get(i).getName())) { // check if this interactable is considered locked
-                        // check if the item is in the same room
-                        if (interactables.get(i).getRoom().contains(player.getCurrentRoom())) {
-                            if (!interactables.get(i).isUsed()) {
-                                interactables.get(i).setUsed(true);
-                                // this allows one to retrieve any method using reflection in the same way as above
-                                try {
-                                    @SuppressWarnings("unchecked") Class<ItemUseMethods> clazz = (Class<ItemUseMethods>) itemUseMethods.getClass();
-                                    method = clazz.getMethod(itemUses.get(interactables.get(i).getName()).get("method"));
-                                } catch (NoSuchMethodException err) {
-                                    throw new RuntimeException(err);
-                                }
-
-                                try {
-                                    System.out.println(itemUses.get(interactables.get(i).getName()).get("useDescription"));
-                                    method.invoke(itemUseMethods);
-                                    return;
-                                } catch (IllegalAccessException | InvocationTargetException err) {
-                                    throw new RuntimeException(err);
-                                }
-                            } else {
-                                System.out.println(interactables.get(i).getUsedDescription());
-                                return;
-                            }
-                        }
-                    } else {
-                        System.out.printf("\nThe %s is LOCKED!\n\nYou must find a means to open it first.", toBeUsed);
-                        return;
-                    }
-                } else {
-                    // check if the item is in the same room
-                    if (interactables.get(i).getRoom().contains(player.getCurrentRoom())) {
-                        if (!interactables.get(i).isUsed()) {
-                            interactables.get(i).setUsed(true);
-                            // this allows one to retrieve any method using reflection in the same way as above
-                            try {
-                                @SuppressWarnings("unchecked") Class<ItemUseMethods> clazz = (Class<ItemUseMethods>) itemUseMethods.getClass();
-                                method = clazz.getMethod(itemUses.get(interactables.get(i).getName()).get("method"));
-                            } catch (NoSuchMethodException err) {
-                                throw new RuntimeException(err);
-                            }
-
-                            try {
-                                System.out.println(itemUses.get(interactables.get(i).getName()).get("useDescription"));
-                                method.invoke(itemUseMethods);
-                                return;
-                            } catch (IllegalAccessException | InvocationTargetException err) {
-                                throw new RuntimeException(err);
-                            }
-                        } else {
-                            System.out.println(interactables.get(i).getUsedDescription());
-                            return;
-                        }
-                    }
-
-                }
+        // check if the item toBeUsed is an interactable in the same room
+        Item interactable = getInteractablesInRoom().find(getPlayer().getRoom().getId(), noun);
+        if (interactable != null) {
+            if (state.isLocked(noun)) { // check if this interactable is considered locked
+                metrics.lockedDoorHit();
+                out.printf("\nThe %s is LOCKED!\n\nYou must find a means to open it first.", toBeUsed);
+                return;
             }
+            if (!isUsed(interactable)) {
+                setUsed(noun, true);
+                invokeItemUse(noun);
+            } else {
+                out.println(interactable.getUsedDescription());
+            }
+            return;
         }
         // default error message
-        System.out.println("You're either not carrying a \"" + toBeUsed + "\" right now, or you can't see one in this ROOM.\n\nItems must be in your INVENTORY to use unless you cannot GET the item. [Your SHIP, for example]\nINSPECT objects to find hidden items!");
+        out.println("You're either not carrying a \"" + toBeUsed + "\" right now, or you can't see one in this ROOM.\n\nItems must be in your INVENTORY to use unless you cannot GET the item. [Your SHIP, for example]\nINSPECT objects to find hidden items!");
 
     }
 
-    // removes item from the lockedObjects map to free up their use by the player
+    // displays the description of use effects to player, then runs the handler resolved at load
+    private void invokeItemUse(int id) {
+        metrics.itemUse();
+        ItemUse itemUse = template.getItemUse(id);
+        if (itemUse == null) {
+            out.println("Nothing happens.");
+            return;
+        }
+        out.println(itemUse.getUseDescription());
+        ItemUseEvent event = ItemUseEvent.isRecording() ? new ItemUseEvent() : null;
+        if (event != null) event.begin();
+        itemUse.invoke(itemUseMethods);
+        if (event != null && event.shouldCommit()) event.commit(symbols.nameOf(id), itemUse.getMethodName());
+    }
+
+    // true once every objective item is in the inventory and has been used
+    public boolean isObjectiveComplete() {
+        for (int id : template.getObjectiveIds()) {
+            boolean done = false;
+            for (Item item : getInventory()) {
+                if (item.getId() == id && isUsed(item)) {
+                    done = true;
+                    break;
+                }
+            }
+            if (!done) return false;
+        }
+        return true;
+    }
+
+    // clears the locked flag of a door or interactable to free up their use by the player
     public void unlockThis(String toBeUnlocked) {
-        if (lockedObjects.containsKey(toBeUnlocked)) {
-            lockedObjects.put(toBeUnlocked, false);
+        int id = symbols.idOf(toBeUnlocked);
+        if (id != SymbolTable.NONE) {
+            template.unlockRoutes(state, id);             // routes through a door that opens are updated, not redone
+            state.unlock(id);
         }
     }
 
     //-------------------------------UTILITY METHODS
 
-    // when a hidden item is made visible, make it a part of the normal itemsList
-    public void itemNotHidden(HiddenItem hiddenItem) {
-        getHiddenItems().remove(hiddenItem); // remove the item to be revealed from the hiddenItem list
-        Item newItem = new Item(hiddenItem); // create new item using hiddenItem info
-        getItems().add(newItem);             // add the new item to the items list
+    // true if this session has used the item or interactable
+    public boolean isUsed(Item item) {
+        return state.isUsed(item);
+    }
+
+    // flags an item or interactable as used, or not, in this session only
+    public void setUsed(int id, boolean isUsed) {
+        state.setUsed(id, isUsed);
+    }
+
+    // when a hidden item is made visible, place it in the current room with the other collectable items
+    public void itemNotHidden(int id) {
+        if (state.isRevealed(id)) return;    // each hidden item can only be revealed once
+        state.setRevealed(id);
+        getItemsInRoom().add(getPlayer().getRoom().getId(), template.getObject(id));
+        commitReveal(id, false);
+    }
+
+    // when a hidden interactable item is made visible, place it in the current room with the other interactables
+    public void interactableNotHidden(int id) {
+        if (state.isRevealed(id)) return;    // each hidden item can only be revealed once
+        state.setRevealed(id);
+        getInteractablesInRoom().add(getPlayer().getRoom().getId(), template.getObject(id));
+        commitReveal(id, true);
     }
 
-    // when a hidden interactable item is made visible, make it a part of the normal interactables list
-    public void interactableNotHidden(HiddenItem hiddenItem) {
-        getHiddenItems().remove(hiddenItem);         // remove the item to be revealed from the hiddenItem list
-        Item newInteractable = new Item(hiddenItem); // create new item using hiddenItem info
-        getInteractables().add(newInteractable);     // add the new item to the interactables list
+    // records a reveal for Flight Recorder, when a recording wants it
+    private void commitReveal(int id, boolean interactable) {
+        if (!RevealEvent.isRecording()) return;
+        RevealEvent event = new RevealEvent();
+        if (event.shouldCommit()) event.commit(template.getObject(id).getName(), interactable, getPlayer().getRoom().getName());
     }
 
-    // uses Jansi ANSI methods to clear terminal and reset cursor at 0,0
-    public static void clearConsole() {
-        System.out.println(ansi().eraseScreen());
-        System.out.println(ansi().cursor(0, 0));
+    // clears this session's terminal and resets cursor at 0,0
+    public void clearConsole() {
+        events.clearConsole();
     }
 
     // Enables the Jansi ANSI support
@@ -712,125 +918,205 @@ public class Controller {
         AnsiConsole.systemInstall();
     }
 
-    // returns the items list object
+    // loads all game objects, parsing the content files only the first time any session asks
     public void loadGameObjects() throws IOException {
-        setRoomsList(loadMap().getRooms());                      // load the rooms list into memory
-        setItems(loadItems().getItems());                        // load the items list into memory
-        setHiddenItems(loadHiddenItems().getHiddenItems());      // load the hidden items list into memory
-        setInteractables(loadIteractables().getInteractables()); // load the interactables list into memory
-        setItemUses(loadItemUseMap().getItemUseMap());           // load the item use map into memory
+        LoadEvent event = LoadEvent.isRecording() ? new LoadEvent() : null;
+        if (event != null) event.begin();
+        loadGameObjects(sharedTemplate(this));
+        if (event != null && event.shouldCommit()) event.commit("loadGameObjects", "shared template");
     }
 
-    // returns the game map object, RoomsRoot
-    public RoomsRoot loadMap() {
-        RoomsRoot retText = new RoomsRoot();                                // create empty map object
+    // starts this session on a given template instead of the shared one, such as a generated world
+    public void loadGameObjects(WorldTemplate template) {
+        LoadEvent event = LoadEvent.isRecording() ? new LoadEvent() : null;
+        if (event != null) event.begin();
+        this.template = template;
+        symbols = template.getSymbols();
+        directionBase = template.getDirectionBase();
+        roomKeyword = template.getRoomKeyword();
+        newGame();
+        if (event != null && event.shouldCommit()) event.commit("loadGameObjects", "template");
+    }
 
-        try (Reader reader = filegetter.getResource("shiprooms.json")) {  // try with
-            retText = gson.fromJson(reader, RoomsRoot.class);                 // Convert JSON File to Java Object
-            retText.createMap();
+    /*
+     * starts a new game from the shared template, with the player in the starting room and an empty inventory
+     * and keeps a snapshot of it for restart()
+     */
+    public void newGame() {
+        state = new GameState(template, startingOxygen);
+        initialState = PackedState.pack(state, template);
+    }
 
-            return retText;                                                 // return game map
-        } catch (IOException err) {
-            throw new RuntimeException(err);
+    // returns the world template shared by every session, building it with the loader on first use
+    private static synchronized WorldTemplate sharedTemplate(Controller loader) {
+        if (sharedTemplate == null) {
+            sharedTemplate = newTemplate(loader.loadWorld());
         }
+        return sharedTemplate;
     }
 
-    // returns the items list object
-    public ItemsList loadItems() {
-
-        try (Reader reader = filegetter.getResource("items.json")) {  // try with resources
-            return gson.fromJson(reader, ItemsList.class); // Convert JSON File to Java Object and return
-        } catch (IOException err) {
-            throw new RuntimeException(err);
+    /*
+     * makes every session read rooms from a memory-mapped world store instead of the heap,
+     * writing the store from the game content first if the file doesn't exist yet
+     * only the items are loaded on the heap: the rooms and their names stay in the store
+     * call before the first game is loaded
+     */
+    public static synchronized void useWorldStore(Path file) throws IOException {
+        LoadEvent event = LoadEvent.isRecording() ? new LoadEvent() : null;
+        if (event != null) event.begin();
+        if (Files.notExists(file)) {
+            writeWorldStore(file);
         }
+        WorldSnapshot objects = headless().loadWorldObjects();
+        RoomsRoot map = new RoomsRoot(WorldStore.open(file, WorldStore.DEFAULT_CACHE_SIZE));
+        sharedTemplate = newTemplate(new WorldSnapshot(map, objects.getItems(), objects.getHiddenItems(),
+                objects.getInteractables(), objects.getItemUseMap()));
+        if (event != null && event.shouldCommit()) event.commit("useWorldStore", file.toString());
     }
 
-    // returns the hidden items list object
-    public HiddenItemsList loadHiddenItems() {
-
-        try (Reader reader = filegetter.getResource("hiddenitems.json")) {  // try with resources
-            return gson.fromJson(reader, HiddenItemsList.class); // Convert JSON File to Java Object and return
-        } catch (IOException err) {
-            throw new RuntimeException(err);
-        }
+    /*
+     * writes a world store from the game content, once, ahead of the servers that open it
+     * this builds every room on the heap, which is dropped again once the store is written
+     */
+    public static void writeWorldStore(Path file) throws IOException {
+        WorldStore.write(file, newTemplate(headless().loadWorld()));
     }
 
-    // returns the iteractables list object
-    public InteractablesList loadIteractables() {
+    // builds a world template from loaded content, failing fast on anything that doesn't resolve
+    public static WorldTemplate newTemplate(WorldSnapshot world) {
+        return new WorldTemplate(
+                world.getMap(),
+                world.getItems(),
+                world.getHiddenItems(),
+                world.getInteractables(),
+                world.getItemUseMap(),
+                LOCKED_OBJECTS,
+                OBJECTIVE_ITEMS,
+                START_ROOM);
+    }
 
-        try (Reader reader = filegetter.getResource("interactables.json")) {  // try with resources
-            return gson.fromJson(reader, InteractablesList.class); // Convert JSON File to Java Object and return
-        } catch (IOException err) {
-            throw new RuntimeException(err);
-        }
+    /*
+     * returns the game content from the snapshot compiled at build time,
+     * or from the JSON resources when running without one, such as from an IDE
+     */
+    public WorldSnapshot loadWorld() {
+        return loadWorld(true);
     }
 
-    // returns the item use map object
-    public ItemUseMap loadItemUseMap() {
+    // same as loadWorld(), but without building the rooms when it reads the compiled snapshot, for a world store
+    public WorldSnapshot loadWorldObjects() {
+        return loadWorld(false);
+    }
 
-        try (Reader reader = filegetter.getResource("itemuses.json")) {  // try with resources
-            return gson.fromJson(reader, ItemUseMap.class);  // Convert JSON File to Java Object and return
+    private WorldSnapshot loadWorld(boolean withRooms) {
+        LoadEvent event = LoadEvent.isRecording() ? new LoadEvent() : null;
+        if (event != null) event.begin();
+        try (InputStream snapshot = filegetter.getResourceStream(WorldSnapshot.RESOURCE)) {
+            if (snapshot != null) {
+                InputStream in = new BufferedInputStream(snapshot);
+                WorldSnapshot world = withRooms ? WorldSnapshot.read(in) : WorldSnapshot.readObjects(in);
+                if (event != null && event.shouldCommit()) event.commit("loadWorld", WorldSnapshot.RESOURCE);
+                return world;
+            }
         } catch (IOException err) {
             throw new RuntimeException(err);
         }
+        WorldSnapshot world = loadWorldFromJson();
+        if (event != null && event.shouldCommit()) event.commit("loadWorld", "JSON resources");
+        return world;
+    }
+
+    // returns the game content parsed from the JSON resources
+    public WorldSnapshot loadWorldFromJson() {
+        LoadEvent event = LoadEvent.isRecording() ? new LoadEvent() : null;
+        if (event != null) event.begin();
+        WorldSnapshot world = new ContentLoader(filegetter).load();
+        if (event != null && event.shouldCommit()) event.commit("loadWorldFromJson", "JSON resources");
+        return world;
     }
 
 
     //-------------------------------ACCESSOR METHODS
 
+    public WorldTemplate getTemplate() {
+        return template;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public RoomsRoot getMap() {
+        return template.getMap();
+    }
+
     public List<Room> getRoomsList() {
-        return roomsList;
+        return template.getMap().getRooms();
+    }
+
+    public RoomIndex getItemsInRoom() {
+        return state.getItemsInRoom();
+    }
+
+    public RoomIndex getInteractablesInRoom() {
+        return state.getInteractablesInRoom();
     }
 
-    public void setRoomsList(List<Room> roomsList) {
-        this.roomsList = roomsList;
+    public List<Item> getInventory() {
+        return state.getInventory();
     }
 
-    public List<Item> getItems() {
-        return items;
+    // returns the resolved use of an item id, or null if it has none
+    public ItemUse getItemUse(int id) {
+        return template.getItemUse(id);
     }
 
-    public void setItems(List<Item> items) {
-        this.items = items;
+    public SymbolTable getSymbols() {
+        return symbols;
     }
 
-    public List<HiddenItem> getHiddenItems() {
-        return hiddenItems;
+    public ItemUseMethods getItemUseMethods() {
+        return itemUseMethods;
     }
 
-    public void setHiddenItems(List<HiddenItem> hiddenItems) {
-        this.hiddenItems = hiddenItems;
+    public Path getSaveFile() {
+        return saveFile;
     }
 
-    public List<Item> getInteractables() {
-        return interactables;
+    public void setSaveFile(Path saveFile) {
+        this.saveFile = saveFile;
     }
 
-    public void setInteractables(List<Item> interactables) {
-        this.interactables = interactables;
+    public PrintStream getOut() {
+        return out;
     }
 
-    public List<Item> getInventory() {
-        return inventory;
+    public boolean isRunning() {
+        return running;
     }
 
-    private void setInventory(List<Item> inventory) {
-        this.inventory = inventory;
+    public double getStartingOxygen() {
+        return startingOxygen;
     }
 
-    public Map<String, Map<String, String>> getItemUses() {
-        return itemUses;
+    public void setStartingOxygen(double startingOxygen) {
+        this.startingOxygen = startingOxygen;
     }
 
-    public void setItemUses(Map<String, Map<String, String>> itemUses) {
-        this.itemUses = itemUses;
+    public double getOxygenPerMove() {
+        return oxygenPerMove;
     }
 
-    public ItemUseMethods getItemUseMethods() {
-        return itemUseMethods;
+    // skips every clear and ENTER pause, for games played by scripts where no one is watching
+    public void setBatchMode(boolean batchMode) {
+        events.setBatch(batchMode);
+    }
+
+    public void setOxygenPerMove(double oxygenPerMove) {
+        this.oxygenPerMove = oxygenPerMove;
     }
 
     public Player getPlayer() {
-        return player;
+        return state.getPlayer();
     }
 }
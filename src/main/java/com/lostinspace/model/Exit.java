@@ -7,6 +7,14 @@ package com.lostinspace.model;
  */
 
 public class Exit{
+    // indexes for each direction in a Room's exit array
+    public static final int NORTH = 0;
+    public static final int SOUTH = 1;
+    public static final int EAST = 2;
+    public static final int WEST = 3;
+    public static final int DIRECTION_COUNT = 4;
+    public static final String[] DIRECTION_NAMES = {"north", "south", "east", "west"}; // what the player types, by index
+
     private String west; // all are "" by default in .json file
     private String east; // some directions will contain the name of the room they lead to
     private String north;
@@ -20,6 +28,38 @@ public class Exit{
         this.west = west;
     }
 
+    // returns the exit index for a direction typed by the player, or -1 if it is not a direction
+    public static int directionIndex(String dir) {
+        switch (dir) {
+            case "north":
+                return NORTH;
+            case "south":
+                return SOUTH;
+            case "east":
+                return EAST;
+            case "west":
+                return WEST;
+            default:
+                return -1;
+        }
+    }
+
+    // returns the name of the room in the direction at the given index, "" if there is no exit
+    public String get(int direction) {
+        switch (direction) {
+            case NORTH:
+                return north;
+            case SOUTH:
+                return south;
+            case EAST:
+                return east;
+            case WEST:
+                return west;
+            default:
+                return "";
+        }
+    }
+
     // ACCESSOR METHODS
     public String getWest() {
         return west;
@@ -0,0 +1,118 @@
+package com.lostinspace.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/*
+ * Game State Class |
+ * Everything one session changes while playing: the player, inventory,
+ * used / locked / revealed flags and where items are now.
+ * All other game content lives in the shared WorldTemplate, which a session never changes.
+ */
+public class GameState {
+    private final Player player;                        // location and oxygen
+    private final List<Item> inventory = new ArrayList<>(); // items carried, which are shared template items
+    private final BitSet used;                          // ids of items and interactables that have been used
+    private final BitSet locked;                        // ids of doors and interactables that are locked
+    private final BitSet revealed = new BitSet();       // ids of hidden items that have been revealed
+    private final RoomIndex itemsInRoom;                // room id -> collectable items, overlaid on the template
+    private final RoomIndex interactablesInRoom;        // room id -> interactables, overlaid on the template
+
+    // CTOR for a new game, starting from the template
+    public GameState(WorldTemplate template, double startingOxygen) {
+        this.player = new Player(template.getStartRoom(), startingOxygen);
+        this.used = (BitSet) template.getUsedAtStart().clone();
+        this.locked = (BitSet) template.getLockedAtStart().clone();
+        this.itemsInRoom = new RoomIndex(template.getItemsInRoom());
+        this.interactablesInRoom = new RoomIndex(template.getInteractablesInRoom());
+    }
+
+    // CTOR for a snapshot: an independent copy of another session's state
+    public GameState(GameState other) {
+        this.player = new Player(other.player.getRoom(), other.player.getOxygen());
+        this.inventory.addAll(other.inventory);
+        this.used = (BitSet) other.used.clone();
+        this.locked = (BitSet) other.locked.clone();
+        this.revealed.or(other.revealed);
+        this.itemsInRoom = other.itemsInRoom.snapshot();
+        this.interactablesInRoom = other.interactablesInRoom.snapshot();
+    }
+
+    /*
+     * resets this state to a snapshot, in place
+     * only what changed since the snapshot is touched, so a restart costs next to nothing
+     */
+    public void restore(GameState snapshot) {
+        player.setCurrentRoom(snapshot.player.getRoom());
+        player.setOxygen(snapshot.player.getOxygen());
+        inventory.clear();
+        inventory.addAll(snapshot.inventory);
+        copyBits(snapshot.used, used);
+        copyBits(snapshot.locked, locked);
+        copyBits(snapshot.revealed, revealed);
+        itemsInRoom.restore(snapshot.itemsInRoom);
+        interactablesInRoom.restore(snapshot.interactablesInRoom);
+    }
+
+    public boolean isUsed(Item item) {
+        return used.get(item.getId());
+    }
+
+    public void setUsed(int id, boolean isUsed) {
+        used.set(id, isUsed);
+    }
+
+    public boolean isLocked(int id) {
+        return locked.get(id);
+    }
+
+    public void unlock(int id) {
+        locked.clear(id);
+    }
+
+    public boolean isRevealed(int id) {
+        return revealed.get(id);
+    }
+
+    public void setRevealed(int id) {
+        revealed.set(id);
+    }
+
+    // ACCESSOR METHODS
+    public Player getPlayer() {
+        return player;
+    }
+
+    public List<Item> getInventory() {
+        return inventory;
+    }
+
+    public RoomIndex getItemsInRoom() {
+        return itemsInRoom;
+    }
+
+    public RoomIndex getInteractablesInRoom() {
+        return interactablesInRoom;
+    }
+
+    BitSet getUsed() {
+        return used;
+    }
+
+    BitSet getLocked() {
+        return locked;
+    }
+
+    BitSet getRevealed() {
+        return revealed;
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // overwrites the bits of one set with another without allocating
+    private static void copyBits(BitSet from, BitSet to) {
+        to.clear();
+        to.or(from);
+    }
+}
@@ -1,6 +1,7 @@
 package com.lostinspace.model;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 public class HiddenItem {
     private String name;
@@ -11,6 +12,8 @@ public class HiddenItem {
     private String description;
     private boolean used;
     private String usedDescription;
+    private transient int id;      // canonical id from the SymbolTable, assigned at load
+    private transient Supplier<String> usedDescriptionLoader; // reads usedDescription on first use when it wasn't loaded up front
 
     public HiddenItem() {
         super();
@@ -28,6 +31,14 @@ public class HiddenItem {
     }
 
     // ACCESSOR METHODS
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -84,10 +95,26 @@ public class HiddenItem {
         this.used = used;
     }
 
+    // returns the used description, reading it the first time it is needed if it was left out at load
     public String getUsedDescription() {
+        if (usedDescription == null && usedDescriptionLoader != null) {
+            usedDescription = usedDescriptionLoader.get(); // a racing read just loads the same text twice
+        }
         return usedDescription;
     }
 
+    String getUsedDescriptionIfLoaded() {
+        return usedDescription;
+    }
+
+    Supplier<String> getUsedDescriptionLoader() {
+        return usedDescriptionLoader;
+    }
+
+    public void setUsedDescriptionLoader(Supplier<String> usedDescriptionLoader) {
+        this.usedDescriptionLoader = usedDescriptionLoader;
+    }
+
     public void setUsedDescription(String usedDescription) {
         this.usedDescription = usedDescription;
     }
@@ -1,9 +1,7 @@
 package com.lostinspace.model;
 
-import com.lostinspace.app.App;
-
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class Item {
     private String name;
@@ -13,22 +11,26 @@ public class Item {
     private String description;
     private boolean used;
     private String usedDescription;
+    private transient int id;      // canonical id from the SymbolTable, assigned at load
+    private transient Supplier<String> usedDescriptionLoader; // reads usedDescription on first use when it wasn't loaded up front
 
     // CTORS
     public Item() {
         super();
     }
 
-    // CTOR used when a hiddenItem is made visible.
-    // Creates a new item in the current room
+    // CTOR for the item a hiddenItem becomes once it is made visible.
+    // It starts in no room, it is placed in the player's current room when revealed
     public Item(HiddenItem hiddenItem){
         this.name = hiddenItem.getName();
         this.synonyms = hiddenItem.getSynonyms();
-        this.room = Arrays.asList(App.getController().getPlayer().getCurrentRoom());
+        this.room = List.of();
         this.fullName = hiddenItem.getFullName();
         this.description = hiddenItem.getDescription();
         this.used = hiddenItem.isUsed();
-        this.usedDescription = hiddenItem.getUsedDescription();
+        this.usedDescription = hiddenItem.getUsedDescriptionIfLoaded();
+        this.usedDescriptionLoader = hiddenItem.getUsedDescriptionLoader();
+        this.id = hiddenItem.getId();
     }
 
     public Item(String name, List<String> synonyms, List<String> room, String fullName, String description, boolean used, String usedDescription) {
@@ -42,6 +44,14 @@ public class Item {
     }
 
     // ACCESSOR METHODS
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -70,10 +80,6 @@ public class Item {
         return room;
     }
 
-    public void setRoom(List<String> room) {
-        this.room = room;
-    }
-
     public String getDescription() {
         return description;
     }
@@ -82,18 +88,23 @@ public class Item {
         this.description = description;
     }
 
+    // whether the item starts the game used, a session tracks its own used flags in GameState
     public boolean isUsed() {
         return used;
     }
 
-    public void setUsed(boolean used) {
-        this.used = used;
-    }
-
+    // returns the used description, reading it the first time it is needed if it was left out at load
     public String getUsedDescription() {
+        if (usedDescription == null && usedDescriptionLoader != null) {
+            usedDescription = usedDescriptionLoader.get(); // a racing read just loads the same text twice
+        }
         return usedDescription;
     }
 
+    public void setUsedDescriptionLoader(Supplier<String> usedDescriptionLoader) {
+        this.usedDescriptionLoader = usedDescriptionLoader;
+    }
+
     public void setUsedDescription(String usedDescription) {
         this.usedDescription = usedDescription;
     }
@@ -0,0 +1,42 @@
+package com.lostinspace.model;
+
+import java.lang.invoke.MethodHandle;
+
+/*
+ * Item Use Class |
+ * One entry of itemuses.json with its "method" already resolved.
+ * The handle is resolved once per JVM and shared by every session,
+ * each session invokes it on its own ItemUseMethods, so using an item never has to look the method up again.
+ */
+public class ItemUse {
+    private final String useDescription;    // text displayed when the item is used
+    private final String methodName;        // name of the ItemUseMethods method, as written in itemuses.json
+    private final MethodHandle handle;      // handle to that method, of type (ItemUseMethods)void
+
+    // CTOR
+    public ItemUse(String useDescription, String methodName, MethodHandle handle) {
+        this.useDescription = useDescription;
+        this.methodName = methodName;
+        this.handle = handle;
+    }
+
+    // runs the effects of using the item on a session's ItemUseMethods
+    public void invoke(ItemUseMethods target) {
+        try {
+            handle.invokeExact(target);
+        } catch (RuntimeException | Error err) {
+            throw err;
+        } catch (Throwable err) {
+            throw new RuntimeException(err);
+        }
+    }
+
+    // ACCESSOR METHODS
+    public String getUseDescription() {
+        return useDescription;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+}
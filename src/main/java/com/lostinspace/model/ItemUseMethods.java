@@ -1,25 +1,31 @@
 package com.lostinspace.model;
 
-import com.lostinspace.app.App;
 import com.lostinspace.controller.Controller;
 
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
 
 public class ItemUseMethods {
     double oxygenRefill = 25.5; // how much oxygen is restored to player
     boolean easyMode = false;   // used to define difficulty settings
+    private final Controller controller; // the game session these methods act on
 
-    // returns the controller instance from main class
+    // CTOR
+    public ItemUseMethods(Controller controller) {
+        this.controller = controller;
+    }
+
+    // returns the controller of this game session
     Controller getController() {
-        Controller controller = App.getController();
         return controller;
     }
 
+    // returns the symbol id of a game object, so lookups below are int compares
+    int id(String name) {
+        return getController().getSymbols().idOf(name);
+    }
+
     // LIST OF METHODS ATTACHED TO THE USE OF GAME ITEMS
-    // All are called reflectively via Controller.useItem()
+    // All are resolved from itemuses.json by WorldTemplate and called via Controller.useItem()
 
     public void useScrambler() {
 
@@ -30,54 +36,39 @@ public class ItemUseMethods {
 
         // read comments below for explanation
         if (easyMode == false) {
-            // interate through interactables list to find the pipes item
-            for (Iterator<Item> iter = getController().getInteractables().iterator(); iter.hasNext(); ) {
-                Item item = iter.next();
-
-                /*
-                 * this removes the currentRoom from the item's room list
-                 * this makes the pipes no longer usable in this room only
-                 * the reason for this is to make oxygen pipes a 1 use item only
-                 * for the sake of difficulty, I've created a boolean that you can set
-                 * to turn this off, called easyMode
-                 */
-                item.getRoom().remove(getController().getPlayer().getCurrentRoom());
+            // find the pipes item in the current room
+            int roomId = getController().getPlayer().getRoom().getId();
+            Item pipes = getController().getInteractablesInRoom().find(roomId, id("pipes"));
+
+            /*
+             * this removes the pipes from the current room's interactables
+             * this makes the pipes no longer usable in this room only
+             * the reason for this is to make oxygen pipes a 1 use item only
+             * for the sake of difficulty, I've created a boolean that you can set
+             * to turn this off, called easyMode
+             */
+            if (pipes != null) {
+                getController().getInteractablesInRoom().remove(roomId, pipes);
             }
         }
     }
 
     public void useKey() {
-        // get the list of hidden items from the Controller class
-        Map<String, Map<String, String>> itemUses = getController().getItemUses();
-        List<HiddenItem> hiddenItems = getController().getHiddenItems();
-        List<Item> interactables = getController().getInteractables();
-
         for (int i = 0; i < getController().getInventory().size(); i++) {
-            if (getController().getInventory().get(i).getName().equals("key")) {
+            if (getController().getInventory().get(i).getId() == id("key")) {
                 // if the player is in the correct room
-                if (getController().getPlayer().getCurrentRoom().equals("Cargo Hold")) {
+                if (getController().getPlayer().getRoom().getId() == id("cargo hold")) {
 
                     getController().unlockThis("cabinet");    // unlock the cabinet using the key
-                    getController().getInventory().get(i).setUsed(true); // flag key as having been used
+                    getController().setUsed(id("key"), true);       // flag key as having been used
 
                     // display the description of succeeding to use the key
-                    System.out.println(itemUses.get("cabinet").get("useDescription"));
-
-                    for (Iterator<Item> iter = interactables.iterator(); iter.hasNext(); ) {
-                        Item item = iter.next();
-                        // if the user input matches the item name AND the item has not been used
-                        if (item.getName().equals("cabinet")) {
-                            item.setUsed(true); // set cabinet as having been used
-                        }
-                    }
+                    getController().getOut().println(getController().getItemUse(id("cabinet")).getUseDescription());
 
-                    // now iterate through the hidden items list,
-                    // and remove tool from the list of hidden items
-                    for (int j = 0; j < hiddenItems.size(); j++) {
-                        if (hiddenItems.get(j).getName().equals("tool")) {
-                            getController().itemNotHidden(hiddenItems.get(j));
-                        }
-                    }
+                    getController().setUsed(id("cabinet"), true); // set cabinet as having been used
+
+                    // now reveal the tool hidden in the cabinet
+                    getController().itemNotHidden(id("tool"));
                     // finally, pickup the tool item, or throw an exception if failed.
                     try {
                         getController().pickUpItem("tool");
@@ -85,8 +76,8 @@ public class ItemUseMethods {
                         throw new RuntimeException(err);
                     }
                 } else {
-                    System.out.println("...but you're unable to use it now!");
-                    getController().getInventory().get(i).setUsed(false);
+                    getController().getOut().println("...but you're unable to use it now!");
+                    getController().setUsed(getController().getInventory().get(i).getId(), false);
                 }
             }
         }
@@ -100,15 +91,15 @@ public class ItemUseMethods {
 
     public void useKeycard() {
         for (int i = 0; i < getController().getInventory().size(); i++) {
-            if (getController().getInventory().get(i).getName().equals("keycard")) {
+            if (getController().getInventory().get(i).getId() == id("keycard")) {
                 // if the player is in the correct room
-                if (getController().getPlayer().getCurrentRoom().equals("Command Deck Hallway")) {
+                if (getController().getPlayer().getRoom().getId() == id("command deck hallway")) {
                     //unlock the room using the keycard
                     getController().unlockThis("bridge");
-                    System.out.println("...the doors to the Bridge UNLOCK with a chime.");
+                    getController().getOut().println("...the doors to the Bridge UNLOCK with a chime.");
                 } else {
-                    System.out.println("...but you're unable to use it here!");
-                    getController().getInventory().get(i).setUsed(false);
+                    getController().getOut().println("...but you're unable to use it here!");
+                    getController().setUsed(getController().getInventory().get(i).getId(), false);
                 }
             }
         }
@@ -121,8 +112,11 @@ public class ItemUseMethods {
     }
 
     public void useCabinet() {
-        if (getController().getInventory().contains("key")) {
-            useKey();
+        for (Item item : getController().getInventory()) {
+            if (item.getId() == id("key")) {
+                useKey();
+                return;
+            }
         }
     }
 
@@ -136,14 +130,8 @@ public class ItemUseMethods {
     }
 
     public void useRack() {
-        // get the list of hidden items from the Controller class
-        List<HiddenItem> hiddenItems = getController().getHiddenItems();
-
-        for (int i = 0; i < hiddenItems.size(); i++) {
-            if (hiddenItems.get(i).getName().equals("component")) {
-                getController().itemNotHidden(hiddenItems.get(i));
-            }
-        }
+        // reveal the component hidden here
+        getController().itemNotHidden(id("component"));
 
         try {
             getController().pickUpItem("component");
@@ -156,14 +144,8 @@ public class ItemUseMethods {
     }
 
     public void useLocker() {
-        // get the list of hidden items from the Controller class
-        List<HiddenItem> hiddenItems = getController().getHiddenItems();
-
-        for (int i = 0; i < hiddenItems.size(); i++) {
-            if (hiddenItems.get(i).getName().equals("key")) {
-                getController().itemNotHidden(hiddenItems.get(i));
-            }
-        }
+        // reveal the key hidden here
+        getController().itemNotHidden(id("key"));
 
         try {
             getController().pickUpItem("key");
@@ -173,25 +155,13 @@ public class ItemUseMethods {
     }
 
     public void useCooler() {
-        // get the list of hidden items from the Controller class
-        List<HiddenItem> hiddenItems = getController().getHiddenItems();
-
-        for (int i = 0; i < hiddenItems.size(); i++) {
-            if (hiddenItems.get(i).getName().equals("corpse")) {
-                getController().interactableNotHidden(hiddenItems.get(i));
-            }
-        }
+        // reveal the corpse hidden here
+        getController().interactableNotHidden(id("corpse"));
     }
 
     public void useCorpse() {
-        // get the list of hidden items from the Controller class
-        List<HiddenItem> hiddenItems = getController().getHiddenItems();
-
-        for (int i = 0; i < hiddenItems.size(); i++) {
-            if (hiddenItems.get(i).getName().equals("keycard")) {
-                getController().itemNotHidden(hiddenItems.get(i));
-            }
-        }
+        // reveal the keycard hidden here
+        getController().itemNotHidden(id("keycard"));
 
         try {
             getController().pickUpItem("keycard");
@@ -201,14 +171,8 @@ public class ItemUseMethods {
     }
 
     public void useLibrary() {
-        // get the list of hidden items from the Controller class
-        List<HiddenItem> hiddenItems = getController().getHiddenItems();
-
-        for (int i = 0; i < hiddenItems.size(); i++) {
-            if (hiddenItems.get(i).getName().equals("manual")) {
-                getController().itemNotHidden(hiddenItems.get(i));
-            }
-        }
+        // reveal the manual hidden here
+        getController().itemNotHidden(id("manual"));
 
         try {
             getController().pickUpItem("manual");
@@ -218,7 +182,7 @@ public class ItemUseMethods {
     }
 
     public void useAirlock() {
-        System.out.println("This will be part of an action packed sequence of events in the FINAL VERSION!");
+        getController().getOut().println("This will be part of an action packed sequence of events in the FINAL VERSION!");
     }
 
     // ACCESSOR METHODS
@@ -229,4 +193,12 @@ public class ItemUseMethods {
     public void setEasyMode(boolean easyMode) {
         this.easyMode = easyMode;
     }
+
+    public double getOxygenRefill() {
+        return oxygenRefill;
+    }
+
+    public void setOxygenRefill(double oxygenRefill) {
+        this.oxygenRefill = oxygenRefill;
+    }
 }
@@ -0,0 +1,181 @@
+package com.lostinspace.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Packed State Class |
+ * Canonical, immutable encoding of one session's GameState in a single long array.
+ * Two sessions in the same game state always pack to the same words, whatever order they did things in,
+ * so a snapshot is one array copy, and equality and hashing are a pass over a handful of words.
+ *
+ * Layout, for a template with S symbols (W = S / 64 rounded up):
+ *   word 0          player room id (low 32 bits), oxygen in hundredths (high 32 bits)
+ *   W words each    inventory, used, locked and revealed, as bitsets over symbol ids
+ *   then            one word per item placed differently from the template, sorted:
+ *                   bit 62 set for interactables, bit 61 set when added (clear when removed),
+ *                   room id in bits 32-60 and item id in the low 32 bits
+ * Unpacking gives the inventory in id order and puts added items after a room's starting ones;
+ * everything else comes back exactly, oxygen to the hundredth.
+ * Bitsets and per-room entries hold one copy of each object, which WorldTemplate guarantees by rejecting
+ * content that names an object twice, places a collectable item in two rooms or lists anything twice in one room.
+ */
+public final class PackedState {
+    private static final int BITSETS = 4;               // inventory, used, locked, revealed
+    private static final long INTERACTABLE = 1L << 62;
+    private static final long ADDED = 1L << 61;
+    private static final long ROOM_MASK = (1L << 29) - 1;
+    private static final long[] NONE = new long[0];
+
+    private final long[] words;
+    private final int hash;                             // hash of words, computed once
+
+    private PackedState(long[] words) {
+        this.words = words;
+        this.hash = Arrays.hashCode(words);
+    }
+
+    // packs a session's state against the template it was created from
+    public static PackedState pack(GameState state, WorldTemplate template) {
+        int w = wordsPerSet(template);
+        long[] fixed = new long[1 + BITSETS * w];
+        fixed[0] = (state.getPlayer().getRoom().getId() & 0xFFFFFFFFL) | (long) hundredths(state.getPlayer().getOxygen()) << 32;
+
+        for (Item item : state.getInventory()) {
+            int id = item.getId();
+            fixed[1 + id / Long.SIZE] |= 1L << id;
+        }
+        putBits(state.getUsed(), fixed, 1 + w, w);
+        putBits(state.getLocked(), fixed, 1 + 2 * w, w);
+        putBits(state.getRevealed(), fixed, 1 + 3 * w, w);
+
+        // where items now differ from the template, as sorted add and remove entries
+        long[] placements = placements(state.getItemsInRoom(), 0, NONE);
+        placements = placements(state.getInteractablesInRoom(), INTERACTABLE, placements);
+        if (placements.length == 0) {
+            return new PackedState(fixed);
+        }
+        Arrays.sort(placements);
+        long[] words = Arrays.copyOf(fixed, fixed.length + placements.length);
+        System.arraycopy(placements, 0, words, fixed.length, placements.length);
+        return new PackedState(words);
+    }
+
+    // puts this state into a session's live state, in place
+    public void unpack(GameState state, WorldTemplate template) {
+        int w = wordsPerSet(template);
+        state.getPlayer().setCurrentRoom(template.getMap().getRoom(getRoomId()));
+        state.getPlayer().setOxygen(getOxygen());
+
+        List<Item> inventory = state.getInventory();
+        inventory.clear();
+        for (int i = 0; i < w; i++) {
+            for (long word = words[1 + i]; word != 0; word &= word - 1) {
+                inventory.add(template.getObject(i * Long.SIZE + Long.numberOfTrailingZeros(word)));
+            }
+        }
+        getBits(state.getUsed(), 1 + w, w);
+        getBits(state.getLocked(), 1 + 2 * w, w);
+        getBits(state.getRevealed(), 1 + 3 * w, w);
+
+        state.getItemsInRoom().clearChanges();
+        state.getInteractablesInRoom().clearChanges();
+        for (int i = 1 + BITSETS * w; i < words.length; i++) {
+            long entry = words[i];
+            RoomIndex index = (entry & INTERACTABLE) != 0 ? state.getInteractablesInRoom() : state.getItemsInRoom();
+            List<Item> items = index.change((int) (entry >>> 32 & ROOM_MASK));
+            Item item = template.getObject((int) entry);
+            if ((entry & ADDED) != 0) {
+                items.add(item);
+            } else {
+                items.remove(item);
+            }
+        }
+    }
+
+    // returns the same state with no oxygen, for telling states apart by everything else
+    public PackedState withoutOxygen() {
+        long[] copy = words.clone();
+        copy[0] &= 0xFFFFFFFFL;
+        return new PackedState(copy);
+    }
+
+    public int getRoomId() {
+        return (int) words[0];
+    }
+
+    public double getOxygen() {
+        return (int) (words[0] >>> 32) / 100.0;
+    }
+
+    // returns the number of words this state packs into
+    public int size() {
+        return words.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PackedState && hash == ((PackedState) other).hash
+                && Arrays.equals(words, ((PackedState) other).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private static int wordsPerSet(WorldTemplate template) {
+        return (template.getSymbols().size() + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static int hundredths(double oxygen) {
+        return (int) Math.round(oxygen * 100);
+    }
+
+    private static void putBits(BitSet bits, long[] into, int offset, int count) {
+        for (int bit = bits.nextSetBit(0); bit >= 0 && bit < count * Long.SIZE; bit = bits.nextSetBit(bit + 1)) {
+            into[offset + bit / Long.SIZE] |= 1L << bit;
+        }
+    }
+
+    // overwrites a bitset with count words of this state, without allocating
+    private void getBits(BitSet into, int offset, int count) {
+        into.clear();
+        for (int i = 0; i < count; i++) {
+            for (long word = words[offset + i]; word != 0; word &= word - 1) {
+                into.set(i * Long.SIZE + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    // returns the entries so far followed by one for every item a session has added to or removed from a room
+    private static long[] placements(RoomIndex index, long kind, long[] entries) {
+        Map<Integer, List<Item>> changed = index.getChangedRooms();
+        if (changed.isEmpty()) return entries;
+
+        int count = entries.length;
+        for (Map.Entry<Integer, List<Item>> room : changed.entrySet()) {
+            long roomBits = (long) room.getKey() << 32;
+            List<Item> now = room.getValue();
+            List<Item> start = index.starting(room.getKey());
+            for (Item item : start) {
+                if (!now.contains(item)) entries = append(entries, count++, kind | roomBits | item.getId());
+            }
+            for (Item item : now) {
+                if (!start.contains(item)) entries = append(entries, count++, kind | ADDED | roomBits | item.getId());
+            }
+        }
+        return count == entries.length ? entries : Arrays.copyOf(entries, count);
+    }
+
+    // stores an entry at index i, growing the array when it is full
+    private static long[] append(long[] entries, int i, long entry) {
+        if (i == entries.length) entries = Arrays.copyOf(entries, Math.max(8, i * 2));
+        entries[i] = entry;
+        return entries;
+    }
+}
@@ -3,7 +3,7 @@ package com.lostinspace.model;
 import java.text.DecimalFormat;
 
 public class Player {
-    private String currentRoom; // current location of player
+    private Room currentRoom;   // current location of player
 
     /* current oxygen level for player
      * oxygen acts as both a timer/health bar for the player
@@ -12,7 +12,7 @@ public class Player {
     private double oxygen;
 
     // CTOR
-    public Player(String currentRoom, double oxygen){
+    public Player(Room currentRoom, double oxygen){
         this.currentRoom = currentRoom;
         this.oxygen = oxygen;
     }
@@ -32,11 +32,16 @@ public class Player {
     }
 
     // ACCESSOR METHODS
+    // returns the name of the current room
     public String getCurrentRoom() {
+        return currentRoom.getName();
+    }
+
+    public Room getRoom() {
         return currentRoom;
     }
 
-    public void setCurrentRoom(String currentRoom) {
+    public void setCurrentRoom(Room currentRoom) {
         this.currentRoom = currentRoom;
     }
 
@@ -6,21 +6,25 @@ package com.lostinspace.model;
  * Holds all data for one instance of a room in the game.
  */
 
-import java.util.ArrayList;
-import java.util.Map;
+import java.util.List;
 
 public class Room {
     public String name;                                 // name of area
     public String description;                          // description of area
     public Exit exits;                                  // object acts as where each direction will lead player
 
-    private Map<String, Room> exitMap;
+    private int id;                                     // index of this room in RoomsRoot, assigned by createMap()
+    private int[] exitIds;                              // ids of the rooms each direction leads to, -1 for none, indexed by Exit.NORTH etc.
+    private RoomsRoot map;                              // map the exit ids are looked up in
+    private List<Item> startingItems;                   // items placed here at the start (world store rooms only)
+    private List<Item> startingInteractables;           // interactables placed here at the start (world store rooms only)
 
-    public Map<String, Room> getExitMap() {
-        return exitMap;
+    // returns the room in the given direction, or null if there is no exit that way
+    public Room getExit(int direction) {
+        int id = exitIds[direction];
+        return id < 0 ? null : map.getRoom(id);
     }
 
-
     // ACCESSOR METHODS
     public String getName() { return name; }
 
@@ -31,4 +35,35 @@ public class Room {
     public Exit getExits() {
         return exits;
     }
-}
\ No newline at end of file
+
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    // ids of the rooms each direction leads to, -1 for none; callers must not change it
+    int[] getExitIds() {
+        return exitIds;
+    }
+
+    void setExitIds(int[] exitIds, RoomsRoot map) {
+        this.exitIds = exitIds;
+        this.map = map;
+    }
+
+    List<Item> getStartingItems() {
+        return startingItems;
+    }
+
+    List<Item> getStartingInteractables() {
+        return startingInteractables;
+    }
+
+    void setStartingItems(List<Item> startingItems, List<Item> startingInteractables) {
+        this.startingItems = startingItems;
+        this.startingInteractables = startingInteractables;
+    }
+}
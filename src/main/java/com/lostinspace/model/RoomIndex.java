@@ -0,0 +1,145 @@
+package com.lostinspace.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/*
+ * Room Index Class |
+ * Multimap from room id to the items found in that room.
+ * Kept up to date as items are picked up, dropped, revealed and used up,
+ * so finding what is in a room never scans the whole item list.
+ *
+ * A session's index is a copy-on-write overlay of the shared starting index:
+ * a room's list is only copied the first time something in that room changes.
+ */
+public class RoomIndex {
+    private final List<List<Item>> itemsByRoom;         // items in each room, indexed by room id (starting index only)
+    private final RoomIndex template;                   // starting index this overlay reads through to (overlay only)
+    private final Map<Integer, List<Item>> changedRooms; // rooms this overlay has changed, by room id (overlay only)
+    private final IntFunction<List<Item>> source;       // reads a room's starting items from elsewhere (read-through index only)
+
+    // CTOR for a starting index, filled in with addAll()
+    public RoomIndex(int roomCount) {
+        itemsByRoom = new ArrayList<>(roomCount);
+        for (int i = 0; i < roomCount; i++) {
+            itemsByRoom.add(new ArrayList<>());
+        }
+        template = null;
+        changedRooms = null;
+        source = null;
+    }
+
+    // CTOR for a read-only starting index whose rooms are looked up as needed, such as from a world store
+    public RoomIndex(IntFunction<List<Item>> source) {
+        this.itemsByRoom = null;
+        this.template = null;
+        this.changedRooms = null;
+        this.source = source;
+    }
+
+    // CTOR for a session's overlay of a starting index, which is never changed through it
+    public RoomIndex(RoomIndex template) {
+        this.itemsByRoom = null;
+        this.template = template;
+        this.changedRooms = new HashMap<>();
+        this.source = null;
+    }
+
+    // places every item in each room named in its room list
+    public void addAll(List<Item> items, RoomsRoot map) {
+        for (Item item : items) {
+            for (String roomName : item.getRoom()) {
+                Room room = map.getRoom(roomName);
+                if (room == null) {
+                    throw new IllegalStateException("Item \"" + item.getName() + "\" is placed in unknown room \"" + roomName + "\"");
+                }
+                add(room.getId(), item);
+            }
+        }
+    }
+
+    public void add(int roomId, Item item) {
+        writable(roomId).add(item);
+    }
+
+    public boolean remove(int roomId, Item item) {
+        return writable(roomId).remove(item);
+    }
+
+    // returns the item with the given id in a room, or null if it isn't there
+    public Item find(int roomId, int itemId) {
+        List<Item> items = items(roomId);
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId() == itemId) {
+                return items.get(i);
+            }
+        }
+        return null;
+    }
+
+    // returns a read-only view of the items in a room
+    public List<Item> get(int roomId) {
+        return Collections.unmodifiableList(items(roomId));
+    }
+
+    // returns the rooms this overlay has changed and what is in them now
+    public Map<Integer, List<Item>> getChangedRooms() {
+        return changedRooms == null ? Map.of() : Collections.unmodifiableMap(changedRooms);
+    }
+
+    // returns an independent overlay of the same starting index with the same rooms changed (overlay only)
+    public RoomIndex snapshot() {
+        RoomIndex copy = new RoomIndex(template);
+        copy.restore(this);
+        return copy;
+    }
+
+    // makes this overlay's changes the same as another overlay's of the same starting index (overlay only)
+    public void restore(RoomIndex snapshot) {
+        changedRooms.clear();
+        snapshot.changedRooms.forEach((roomId, items) -> changedRooms.put(roomId, new ArrayList<>(items)));
+    }
+
+    // forgets every change this overlay has made, so it reads the starting index again (overlay only)
+    void clearChanges() {
+        changedRooms.clear();
+    }
+
+    // returns a room's items in the starting index this overlay reads through to (overlay only)
+    List<Item> starting(int roomId) {
+        return template.items(roomId);
+    }
+
+    // returns a room's list that is safe to change, copying the shared one on first write
+    List<Item> change(int roomId) {
+        return writable(roomId);
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private List<Item> items(int roomId) {
+        if (source != null) {
+            return source.apply(roomId);
+        }
+        if (template == null) {
+            return itemsByRoom.get(roomId);
+        }
+        List<Item> changed = changedRooms.get(roomId);
+        return changed != null ? changed : template.items(roomId);
+    }
+
+    // returns a list for the room that is safe to change, copying the shared one on first write
+    private List<Item> writable(int roomId) {
+        if (source != null) {
+            throw new UnsupportedOperationException("A read-through starting index can't be changed");
+        }
+        if (template == null) {
+            return itemsByRoom.get(roomId);
+        }
+        return changedRooms.computeIfAbsent(roomId, id -> new ArrayList<>(template.items(id)));
+    }
+}
@@ -6,31 +6,107 @@ package com.lostinspace.model;
  * Holds all data for each room in the game.
  */
 
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 // after loading the text resource for the game map, acts as the root ArrayList for all Rooms
+// or, for worlds too large for the heap, reads its rooms from a memory-mapped WorldStore
 public class RoomsRoot {
     public List<Room> rooms;
     private Map<String, Room> roomMap;
+    private final WorldStore store;                     // where rooms are read from, null when they are all in 'rooms'
 
+    // CTORS
+    public RoomsRoot() {
+        this.store = null;
+    }
+
+    public RoomsRoot(WorldStore store) {
+        this.store = store;
+        this.rooms = new AbstractList<>() {             // read-only view that builds rooms through the store's cache
+            @Override
+            public Room get(int index) {
+                return store.getRoom(index);
+            }
+
+            @Override
+            public int size() {
+                return store.getRoomCount();
+            }
+        };
+        store.setMap(this);
+    }
+
+    /*
+     * turns the loaded room list into a graph
+     * each room is given its index in the list as an id,
+     * and each exit name is resolved to the id of the room it leads to,
+     * so moving is a lookup in the room's exit array
+     */
     public void createMap() {
         roomMap = rooms
                 .stream()
                 .collect(Collectors.toUnmodifiableMap(Room::getName, Function.identity()));
-//        for (Room room : rooms) {
-//            room.setExitMap(
-//                    room.getExits()
-//                            .entrySet()
-//                            .stream()
-//                            .filter(entry -> !entry.getValue().trim().isEmpty())
-//                            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> roomMap.get(entry.getValue())))
-//            );
-//        }
+
+        for (int i = 0; i < rooms.size(); i++) {
+            rooms.get(i).setId(i);
+        }
+
+        for (Room room : rooms) {
+            int[] exitIds = new int[Exit.DIRECTION_COUNT];
+            for (int dir = 0; dir < Exit.DIRECTION_COUNT; dir++) {
+                String exitName = room.getExits().get(dir);
+                exitIds[dir] = -1;
+                if (!exitName.isEmpty()) {                         // ignore non-exits
+                    Room exitRoom = roomMap.get(exitName);
+                    if (exitRoom == null) {
+                        throw new IllegalStateException("Room \"" + room.getName() + "\" has an exit to unknown room \"" + exitName + "\"");
+                    }
+                    exitIds[dir] = exitRoom.getId();
+                }
+            }
+            room.setExitIds(exitIds, this);
+        }
+    }
+
+    // returns the room with the given id
+    public Room getRoom(int id) {
+        return store != null ? store.getRoom(id) : rooms.get(id);
+    }
+
+    // returns the room with the given name, or null if there is none
+    public Room getRoom(String name) {
+        if (store != null) {
+            int id = store.idOf(name);
+            return id < 0 ? null : store.getRoom(id);
+        }
+        return roomMap.get(name);
+    }
+
+    // returns the name of the room with the given id, without building it from a store
+    public String getRoomName(int id) {
+        return store != null ? store.nameOf(id) : rooms.get(id).getName();
+    }
+
+    public int getRoomCount() {
+        return store != null ? store.getRoomCount() : rooms.size();
+    }
+
+    // returns the world store the rooms are read from, or null if they are all on the heap
+    public WorldStore getStore() {
+        return store;
+    }
+
+    // lets store rooms resolve their starting items once the template has given every object an id
+    void bindObjects(IntFunction<Item> objects) {
+        if (store != null) store.bindObjects(objects);
     }
 
+    // returns every room by name (heap maps only, null for a store)
     public Map<String, Room> getRoomMap() {
         return roomMap;
     }
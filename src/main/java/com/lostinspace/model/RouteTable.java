@@ -0,0 +1,198 @@
+package com.lostinspace.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * Route Table Class |
+ * Shortest routes between every pair of rooms, for one set of locked doors.
+ * For each destination a column holds, for every room, the direction of the first step toward it
+ * and how many steps are left, filled by one breadth-first search backwards along the exits.
+ * A locked room can be walked up to but not through, so a route may end at a locked door.
+ *
+ * Columns are filled the first time they are asked for, or all at once for small maps,
+ * and never change after that, so a table is shared by every session with the same doors locked.
+ * The table for one more door unlocked is derived from this one, updating only the rooms whose routes get shorter.
+ * A filled column takes 3 bytes a room: a byte for the step and a char for the moves left,
+ * which tops out at MAX_DISTANCE; a route longer than that is still followed correctly, only reported as that long.
+ */
+public class RouteTable {
+    public static final int NO_ROUTE = -1;              // step returned when a room can't be reached
+    public static final int PRECOMPUTE_ROOMS = 256;     // maps up to this size fill every column at load
+    public static final int MAX_DISTANCE = Character.MAX_VALUE - 1; // longest distance a column can hold
+    private static final char UNREACHED = Character.MAX_VALUE;     // distance of a room with no route
+
+    private final Graph graph;                          // exits of every room, shared by tables of the same map
+    private final BitSet locked;                        // rooms that can't be walked through, by room id
+    private final AtomicReferenceArray<Column> columns; // destination room id -> routes to it, null until asked for
+
+    // CTOR for the routes of a map with the given rooms locked
+    public RouteTable(RoomsRoot map, BitSet locked) {
+        this(new Graph(map), locked);
+        if (graph.roomCount <= PRECOMPUTE_ROOMS && map.getStore() == null) {
+            for (int to = 0; to < graph.roomCount; to++) column(to);
+        }
+    }
+
+    private RouteTable(Graph graph, BitSet locked) {
+        this.graph = graph;
+        this.locked = locked;
+        this.columns = new AtomicReferenceArray<>(graph.roomCount);
+    }
+
+    // returns the direction of the first step from one room toward another, or NO_ROUTE
+    public int nextStep(int from, int to) {
+        return from == to ? NO_ROUTE : column(to).next[from];
+    }
+
+    // returns the number of moves from one room to another, at most MAX_DISTANCE, or NO_ROUTE
+    public int distance(int from, int to) {
+        char dist = column(to).dist[from];
+        return dist == UNREACHED ? NO_ROUTE : dist;
+    }
+
+    // returns the routes for the same map with other rooms locked, filled as they are asked for
+    public RouteTable withLocked(BitSet locked) {
+        return new RouteTable(graph, locked);
+    }
+
+    // returns the rooms this table treats as locked; callers must not change it
+    public BitSet getLocked() {
+        return locked;
+    }
+
+    /*
+     * returns the table for the same map with one more room unlocked
+     * columns already filled are copied and updated from the unlocked room outward,
+     * the rest are left to be filled from scratch when first asked for
+     */
+    public RouteTable unlock(int room) {
+        BitSet unlocked = (BitSet) locked.clone();
+        unlocked.clear(room);
+        RouteTable table = new RouteTable(graph, unlocked);
+        for (int to = 0; to < graph.roomCount; to++) {
+            Column column = columns.get(to);
+            if (column != null) {
+                table.columns.set(to, table.shorten(column.copy(), to, room));
+            }
+        }
+        return table;
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // returns the routes to a room, filling them the first time; two threads may both fill one, which is harmless
+    private Column column(int to) {
+        Column column = columns.get(to);
+        if (column == null) {
+            column = fill(to);
+            if (!columns.compareAndSet(to, null, column)) column = columns.get(to);
+        }
+        return column;
+    }
+
+    // breadth-first search backwards from a room, through every room that isn't locked
+    private Column fill(int to) {
+        Column column = new Column(graph.roomCount);
+        int[] queue = new int[graph.roomCount];
+        column.dist[to] = 0;
+        queue[0] = to;
+        for (int head = 0, tail = 1; head < tail; head++) {
+            tail = expand(column, to, queue[head], queue, tail);
+        }
+        return column;
+    }
+
+    /*
+     * updates a copied column for a room that was just unlocked
+     * unlocking can only make routes shorter, and every one that gets shorter now passes through that room,
+     * so a search outward from it that stops wherever a route doesn't improve finds all of them
+     */
+    private Column shorten(Column column, int to, int room) {
+        if (room == to || column.dist[room] == UNREACHED) return column; // nothing new can pass through it
+        int[] queue = new int[graph.roomCount];
+        queue[0] = room;
+        for (int head = 0, tail = 1; head < tail; head++) {
+            tail = expand(column, to, queue[head], queue, tail);
+        }
+        return column;
+    }
+
+    // gives every room with an exit into 'room' a route through it, if that is shorter; returns the new queue tail
+    private int expand(Column column, int to, int room, int[] queue, int tail) {
+        if (room != to && locked.get(room)) return tail;    // a route may end at a locked door, never pass it
+        char dist = (char) Math.min(column.dist[room] + 1, MAX_DISTANCE);
+        for (int i = graph.fromStart[room]; i < graph.fromStart[room + 1]; i++) {
+            int from = graph.fromRoom[i];
+            char known = column.dist[from];
+            if (known == UNREACHED || dist < known) {
+                column.dist[from] = dist;
+                column.next[from] = graph.fromDirection[i];
+                queue[tail++] = from;
+            }
+        }
+        return tail;
+    }
+
+    // the routes to one room: first step and moves left from every room
+    private static class Column {
+        final byte[] next;                              // room id -> direction of the first step, or NO_ROUTE
+        final char[] dist;                              // room id -> moves to the destination, or UNREACHED
+
+        Column(int roomCount) {
+            next = new byte[roomCount];
+            dist = new char[roomCount];
+            Arrays.fill(next, (byte) NO_ROUTE);
+            Arrays.fill(dist, UNREACHED);
+        }
+
+        private Column(byte[] next, char[] dist) {
+            this.next = next;
+            this.dist = dist;
+        }
+
+        Column copy() {
+            return new Column(next.clone(), dist.clone());
+        }
+    }
+
+    /*
+     * every exit of the map, reversed: for each room, the rooms with an exit into it and in which direction
+     * kept as flat arrays, rooms into room r are at [fromStart[r], fromStart[r + 1])
+     */
+    private static class Graph {
+        final int roomCount;
+        final int[] fromStart;
+        final int[] fromRoom;
+        final byte[] fromDirection;
+
+        Graph(RoomsRoot map) {
+            roomCount = map.getRoomCount();
+            int[][] exits = new int[roomCount][];
+            fromStart = new int[roomCount + 1];
+            for (int id = 0; id < roomCount; id++) {
+                exits[id] = map.getRoom(id).getExitIds();
+                for (int to : exits[id]) {
+                    if (to >= 0) fromStart[to + 1]++;
+                }
+            }
+            for (int id = 0; id < roomCount; id++) {
+                fromStart[id + 1] += fromStart[id];
+            }
+
+            fromRoom = new int[fromStart[roomCount]];
+            fromDirection = new byte[fromStart[roomCount]];
+            int[] fill = Arrays.copyOf(fromStart, roomCount);
+            for (int id = 0; id < roomCount; id++) {
+                for (int dir = 0; dir < exits[id].length; dir++) {
+                    int to = exits[id][dir];
+                    if (to >= 0) {
+                        fromRoom[fill[to]] = id;
+                        fromDirection[fill[to]++] = (byte) dir;
+                    }
+                }
+            }
+        }
+    }
+}
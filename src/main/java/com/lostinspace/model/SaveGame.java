@@ -0,0 +1,212 @@
+package com.lostinspace.model;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Save Game Class |
+ * Compact, versioned binary encoding of one session's GameState.
+ * Everything is written as symbol ids, so a save only holds what the session changed and is a few hundred bytes.
+ * Ids and counts are varints, so the same layout holds worlds of any size without wasting bytes on small ones.
+ *
+ * Layout (big-endian):
+ *   int    magic "LIS1"
+ *   short  format version
+ *   var    symbol count, var room count           (content the save was made against)
+ *   var    player room id, double oxygen
+ *   ids    inventory
+ *   bits   used, locked, revealed
+ *   rooms  items in rooms changed, interactables in rooms changed
+ * where var is an unsigned varint (7 bits a byte, low bits first), ids is a var count then that many var ids,
+ * bits is a var word count then that many longs, and rooms is a var count then, per room, a var room id
+ * followed by the ids in it.
+ */
+public class SaveGame {
+    public static final int MAGIC = 0x4C495331;         // "LIS1"
+    public static final short VERSION = 2;              // bump when the layout changes
+    private static final int MAX_VARINT = 5;            // bytes in the longest varint of an int
+
+    // returns the most bytes a save made against a template can take; throws IOException if that won't fit in a buffer
+    public static int maxSize(WorldTemplate template) throws IOException {
+        long symbols = template.getSymbols().size();
+        long rooms = template.getMap().getRoomCount();
+        long words = (symbols + Long.SIZE - 1) / Long.SIZE;
+        long size = Integer.BYTES + Short.BYTES + 3 * MAX_VARINT + Double.BYTES    // header, room and oxygen
+                + MAX_VARINT + symbols * MAX_VARINT                              // inventory
+                + 3 * (MAX_VARINT + words * Long.BYTES)                          // used, locked, revealed
+                + 2 * (MAX_VARINT + rooms * 2 * MAX_VARINT + symbols * MAX_VARINT); // both room indexes
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IOException("World too large to save: " + symbols + " symbols, " + rooms + " rooms");
+        }
+        return (int) size;
+    }
+
+    /*
+     * writes a session's state into the buffer, from its position
+     * throws IOException, leaving the buffer's contents undefined, if the state doesn't fit
+     */
+    public static void encode(GameState state, WorldTemplate template, ByteBuffer buf) throws IOException {
+        try {
+            buf.putInt(MAGIC);
+            buf.putShort(VERSION);
+            putVarint(template.getSymbols().size(), buf);
+            putVarint(template.getMap().getRoomCount(), buf);
+
+            putVarint(state.getPlayer().getRoom().getId(), buf);
+            buf.putDouble(state.getPlayer().getOxygen());
+            putItems(state.getInventory(), buf);
+
+            putBits(state.getUsed(), buf);
+            putBits(state.getLocked(), buf);
+            putBits(state.getRevealed(), buf);
+
+            putRooms(state.getItemsInRoom(), buf);
+            putRooms(state.getInteractablesInRoom(), buf);
+        } catch (BufferOverflowException err) {
+            throw new IOException("Save game is larger than its " + buf.capacity() + " byte buffer", err);
+        }
+    }
+
+    /*
+     * reads a save from the buffer into a session's state, in place
+     * throws IOException if the buffer isn't a save, has another version, or was made against other game content;
+     * the state is only changed once the whole save has been read
+     */
+    public static void decode(ByteBuffer buf, WorldTemplate template, GameState state) throws IOException {
+        try {
+            if (buf.getInt() != MAGIC) {
+                throw new IOException("Not a Lost in Space save game");
+            }
+            short version = buf.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported save game version " + version);
+            }
+            if (getVarint(buf) != template.getSymbols().size() || getVarint(buf) != template.getMap().getRoomCount()) {
+                throw new IOException("Save game was made with different game content");
+            }
+
+            // read everything into a scratch state first so a bad save never leaves a half-loaded game
+            GameState loaded = new GameState(state);
+            loaded.getPlayer().setCurrentRoom(room(getVarint(buf), template));
+            loaded.getPlayer().setOxygen(buf.getDouble());
+            loaded.getInventory().clear();
+            getItems(buf, template, loaded.getInventory());
+
+            int words = (template.getSymbols().size() + Long.SIZE - 1) / Long.SIZE;
+            getBits(buf, words, loaded.getUsed());
+            getBits(buf, words, loaded.getLocked());
+            getBits(buf, words, loaded.getRevealed());
+
+            getRooms(buf, template, loaded.getItemsInRoom());
+            getRooms(buf, template, loaded.getInteractablesInRoom());
+
+            state.restore(loaded);
+        } catch (BufferUnderflowException err) {
+            throw new IOException("Save game is truncated", err);
+        }
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private static void putItems(List<Item> items, ByteBuffer buf) throws IOException {
+        putVarint(items.size(), buf);
+        for (int i = 0; i < items.size(); i++) {
+            putVarint(items.get(i).getId(), buf);
+        }
+    }
+
+    private static void getItems(ByteBuffer buf, WorldTemplate template, List<Item> into) throws IOException {
+        int count = count(getVarint(buf), template.getSymbols().size(), "items");
+        for (int i = 0; i < count; i++) {
+            int id = getVarint(buf);
+            Item item = template.getObject(id);
+            if (item == null) {
+                throw new IOException("Save game names unknown item id " + id);
+            }
+            into.add(item);
+        }
+    }
+
+    private static void putBits(BitSet bits, ByteBuffer buf) throws IOException {
+        long[] words = bits.toLongArray();
+        putVarint(words.length, buf);
+        for (long word : words) {
+            buf.putLong(word);
+        }
+    }
+
+    private static void getBits(ByteBuffer buf, int maxWords, BitSet into) throws IOException {
+        into.clear();
+        int words = count(getVarint(buf), maxWords, "flag words");
+        for (int w = 0; w < words; w++) {
+            long word = buf.getLong();
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                into.set(w * Long.SIZE + bit);
+                word &= word - 1;                       // clear the lowest set bit
+            }
+        }
+    }
+
+    private static void putRooms(RoomIndex index, ByteBuffer buf) throws IOException {
+        Map<Integer, List<Item>> changed = index.getChangedRooms();
+        putVarint(changed.size(), buf);
+        for (Map.Entry<Integer, List<Item>> room : changed.entrySet()) {
+            putVarint(room.getKey(), buf);
+            putItems(room.getValue(), buf);
+        }
+    }
+
+    private static void getRooms(ByteBuffer buf, WorldTemplate template, RoomIndex into) throws IOException {
+        into.clearChanges();
+        int rooms = count(getVarint(buf), template.getMap().getRoomCount(), "rooms");
+        for (int r = 0; r < rooms; r++) {
+            int roomId = room(getVarint(buf), template).getId();
+            List<Item> items = into.change(roomId);
+            items.clear();
+            getItems(buf, template, items);
+        }
+    }
+
+    private static Room room(int id, WorldTemplate template) throws IOException {
+        if (id < 0 || id >= template.getMap().getRoomCount()) {
+            throw new IOException("Save game names unknown room id " + id);
+        }
+        return template.getMap().getRoom(id);
+    }
+
+    // returns a count read from a save, if the content can hold that many
+    private static int count(int count, int max, String what) throws IOException {
+        if (count < 0 || count > max) {
+            throw new IOException("Save game holds " + Integer.toUnsignedString(count) + " " + what + ", more than the game has");
+        }
+        return count;
+    }
+
+    // writes a non-negative int in as few bytes as it needs, 7 bits at a time
+    private static void putVarint(int value, ByteBuffer buf) throws IOException {
+        if (value < 0) {
+            throw new IOException("Can't save negative value " + value);
+        }
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buf) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = buf.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Save game holds a malformed number");
+    }
+}
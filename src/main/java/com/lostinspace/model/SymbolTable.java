@@ -0,0 +1,142 @@
+package com.lostinspace.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/*
+ * Symbol Table Class |
+ * Interns every noun the player can type (room names, item names and their synonyms)
+ * into a canonical int id when the game objects are loaded.
+ * Player input is resolved once per command, after which all comparisons are int compares.
+ * Words can be looked up straight out of a char buffer, so resolving input allocates nothing.
+ * A world too large to intern every room name reserves the first ids for its rooms instead,
+ * and words the table doesn't hold are then looked up among those rooms, such as in a WorldStore's name index.
+ */
+public class SymbolTable {
+    public static final int NONE = -1;                      // id returned for unknown words
+
+    private String[] keys = new String[16];                 // open-addressed table of words...
+    private int[] values = new int[16];                     // ...and the id each word maps to
+    private int keyCount;                                   // number of words, including synonyms
+    private final List<String> names = new ArrayList<>();   // canonical id, after the reserved ones -> canonical name
+    private int reserved;                                   // ids 0 to reserved - 1 name words held outside the table
+    private ToIntFunction<String> reservedIds;              // lowercase word -> reserved id, or NONE
+    private IntFunction<String> reservedNames;              // reserved id -> canonical name
+
+    // returns the id for a canonical name, creating a new id if it has not been seen before
+    public int intern(String name) {
+        String key = name.toLowerCase();
+        int id = idOf(key);
+        if (id == NONE) {
+            id = size();
+            put(key, id);
+            names.add(key);
+        }
+        return id;
+    }
+
+    /*
+     * maps a synonym onto an existing id
+     * blank synonyms are ignored, and a word that already names something keeps its first meaning
+     */
+    public void alias(String synonym, int id) {
+        if (synonym == null || synonym.isBlank()) return;
+        String key = synonym.toLowerCase();
+        if (idOf(key) == NONE) {
+            put(key, id);
+        }
+    }
+
+    /*
+     * gives the first count ids to words held outside the table, before anything is interned
+     * 'ids' finds the reserved id of a lowercase word, or NONE, and 'names' gives a reserved id's canonical name
+     */
+    public void reserve(int count, ToIntFunction<String> ids, IntFunction<String> names) {
+        if (size() != 0) {
+            throw new IllegalStateException("Ids can only be reserved in an empty symbol table");
+        }
+        this.reserved = count;
+        this.reservedIds = ids;
+        this.reservedNames = names;
+    }
+
+    // returns the id for a lowercase word typed by the player, or NONE if the word is unknown
+    public int idOf(String word) {
+        int mask = keys.length - 1;
+        for (int slot = spread(word.hashCode()) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(word)) {
+                return values[slot];
+            }
+        }
+        return reservedIds == null ? NONE : reservedIds.applyAsInt(word);
+    }
+
+    // same as idOf(String), for a word held in buf[off, off + len)
+    public int idOf(char[] buf, int off, int len) {
+        int hash = 0;                                        // same hash as String.hashCode()
+        for (int i = off; i < off + len; i++) {
+            hash = 31 * hash + buf[i];
+        }
+
+        int mask = keys.length - 1;
+        for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (sameChars(keys[slot], buf, off, len)) {
+                return values[slot];
+            }
+        }
+        return reservedIds == null ? NONE : reservedIds.applyAsInt(new String(buf, off, len));
+    }
+
+    // returns the canonical name for an id
+    public String nameOf(int id) {
+        return id < reserved ? reservedNames.apply(id) : names.get(id - reserved);
+    }
+
+    // number of canonical ids
+    public int size() {
+        return reserved + names.size();
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private void put(String key, int id) {
+        if ((keyCount + 1) * 2 > keys.length) {              // keep the table at most half full
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (keys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = id;
+        keyCount++;
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new String[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        keyCount = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean sameChars(String key, char[] buf, int off, int len) {
+        if (key.length() != len) return false;
+        for (int i = 0; i < len; i++) {
+            if (key.charAt(i) != buf[off + i]) return false;
+        }
+        return true;
+    }
+}
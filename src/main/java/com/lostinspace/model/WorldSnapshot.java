@@ -0,0 +1,285 @@
+package com.lostinspace.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * World Snapshot Class |
+ * The game content of the five JSON resources, compiled at build time into one binary resource.
+ * Reading it is plain sequential decoding into the model's constructors: no JSON parsing and no reflection.
+ *
+ * Layout (DataOutput): int magic "LISW", short version, then
+ *   rooms          name, description, exit north / south / east / west
+ *   items          name, synonyms, rooms, full name, description, used, used description
+ *   hidden items   name, synonyms, containers, hidden, full name, description, used, used description
+ *   interactables  as items
+ *   item uses      item name, then its entries as key / value pairs
+ * each list led by a var count; strings are a var of their UTF-8 length plus one (0 for none) then the bytes,
+ * where var is an unsigned varint (7 bits a byte, low bits first), so a world of any size fits.
+ */
+public class WorldSnapshot {
+    public static final String RESOURCE = "world.bin";  // classpath name of the compiled snapshot
+    public static final int MAGIC = 0x4C495357;         // "LISW"
+    public static final short VERSION = 2;              // bump when the layout changes
+    public static final int MAX_STRING = 16 << 20;      // longest string, in UTF-8 bytes, a snapshot holds
+    private static final int PRESIZE_LIMIT = 4096;      // lists read are presized at most this far, whatever count they claim
+
+    private final RoomsRoot map;
+    private final List<Item> items;
+    private final List<HiddenItem> hiddenItems;
+    private final List<Item> interactables;
+    private final Map<String, Map<String, String>> itemUseMap;
+
+    // CTOR
+    public WorldSnapshot(RoomsRoot map, List<Item> items, List<HiddenItem> hiddenItems, List<Item> interactables,
+                         Map<String, Map<String, String>> itemUseMap) {
+        this.map = map;
+        this.items = items;
+        this.hiddenItems = hiddenItems;
+        this.interactables = interactables;
+        this.itemUseMap = itemUseMap;
+    }
+
+    // writes the snapshot to a stream
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        writeCount(out, map.getRooms().size());
+        for (Room room : map.getRooms()) {
+            writeString(out, room.getName());
+            writeString(out, room.getDescription());
+            for (int dir = 0; dir < Exit.DIRECTION_COUNT; dir++) {
+                writeString(out, room.getExits().get(dir));
+            }
+        }
+
+        writeItems(out, items);
+
+        writeCount(out, hiddenItems.size());
+        for (HiddenItem hiddenItem : hiddenItems) {
+            writeString(out, hiddenItem.getName());
+            writeStrings(out, hiddenItem.getSynonyms());
+            writeStrings(out, hiddenItem.getInside());
+            out.writeBoolean(hiddenItem.isHidden());
+            writeString(out, hiddenItem.getFullName());
+            writeString(out, hiddenItem.getDescription());
+            out.writeBoolean(hiddenItem.isUsed());
+            writeString(out, hiddenItem.getUsedDescription());
+        }
+
+        writeItems(out, interactables);
+
+        writeCount(out, itemUseMap.size());
+        for (Map.Entry<String, Map<String, String>> use : itemUseMap.entrySet()) {
+            writeString(out, use.getKey());
+            writeCount(out, use.getValue().size());
+            for (Map.Entry<String, String> entry : use.getValue().entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        }
+        out.flush();
+    }
+
+    // reads a snapshot written by write(), throwing IOException if it isn't one or has another version
+    public static WorldSnapshot read(InputStream stream) throws IOException {
+        return read(stream, true);
+    }
+
+    // reads everything but the rooms, which are skipped without being built, for a world whose rooms are in a WorldStore
+    public static WorldSnapshot readObjects(InputStream stream) throws IOException {
+        return read(stream, false);
+    }
+
+    // ACCESSOR METHODS
+    public RoomsRoot getMap() {
+        return map;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public List<HiddenItem> getHiddenItems() {
+        return hiddenItems;
+    }
+
+    public List<Item> getInteractables() {
+        return interactables;
+    }
+
+    public Map<String, Map<String, String>> getItemUseMap() {
+        return itemUseMap;
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private static WorldSnapshot read(InputStream stream, boolean withRooms) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a Lost in Space world snapshot");
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported world snapshot version " + version);
+        }
+
+        int roomCount = readCount(in);
+        RoomsRoot map = null;
+        if (withRooms) {
+            List<Room> rooms = new ArrayList<>(Math.min(roomCount, PRESIZE_LIMIT));
+            for (int i = 0; i < roomCount; i++) {
+                Room room = new Room();
+                room.name = readString(in);
+                room.description = readString(in);
+                room.exits = new Exit(readString(in), readString(in), readString(in), readString(in));
+                rooms.add(room);
+            }
+            map = new RoomsRoot();
+            map.rooms = rooms;
+            map.createMap();
+        } else {
+            for (long i = 0; i < 6L * roomCount; i++) {
+                skipString(in);                         // name, description and four exits
+            }
+        }
+
+        List<Item> items = readItems(in);
+
+        int hiddenCount = readCount(in);
+        List<HiddenItem> hiddenItems = new ArrayList<>(Math.min(hiddenCount, PRESIZE_LIMIT));
+        for (int i = 0; i < hiddenCount; i++) {
+            hiddenItems.add(new HiddenItem(readString(in), readStrings(in), readStrings(in), in.readBoolean(),
+                    readString(in), readString(in), in.readBoolean(), readString(in)));
+        }
+
+        List<Item> interactables = readItems(in);
+
+        int useCount = readCount(in);
+        Map<String, Map<String, String>> itemUseMap = new LinkedHashMap<>();
+        for (int i = 0; i < useCount; i++) {
+            String name = readString(in);
+            int entries = readCount(in);
+            Map<String, String> use = new LinkedHashMap<>();
+            for (int e = 0; e < entries; e++) {
+                use.put(readString(in), readString(in));
+            }
+            itemUseMap.put(name, use);
+        }
+
+        return new WorldSnapshot(map, items, hiddenItems, interactables, itemUseMap);
+    }
+
+    private static void writeItems(DataOutputStream out, List<Item> items) throws IOException {
+        writeCount(out, items.size());
+        for (Item item : items) {
+            writeString(out, item.getName());
+            writeStrings(out, item.getSynonyms());
+            writeStrings(out, item.getRoom());
+            writeString(out, item.getFullName());
+            writeString(out, item.getDescription());
+            out.writeBoolean(item.isUsed());
+            writeString(out, item.getUsedDescription());
+        }
+    }
+
+    private static List<Item> readItems(DataInputStream in) throws IOException {
+        int count = readCount(in);
+        List<Item> items = new ArrayList<>(Math.min(count, PRESIZE_LIMIT));
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(readString(in), readStrings(in), readStrings(in), readString(in), readString(in),
+                    in.readBoolean(), readString(in)));
+        }
+        return items;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        writeCount(out, strings == null ? 0 : strings.size());
+        if (strings == null) return;
+        for (String string : strings) {
+            writeString(out, string);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = readCount(in);
+        List<String> strings = new ArrayList<>(Math.min(count, PRESIZE_LIMIT));
+        for (int i = 0; i < count; i++) {
+            strings.add(readString(in));
+        }
+        return List.copyOf(strings);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            writeCount(out, 0);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING) {
+            throw new IOException("String of " + bytes.length + " bytes is too long for a world snapshot: "
+                    + string.substring(0, 40) + "...");
+        }
+        writeCount(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readCount(in);
+        if (length == 0) return null;
+        if (length - 1 > MAX_STRING) {
+            throw new IOException("World snapshot holds a string of " + (length - 1) + " bytes, longer than any it writes");
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(DataInputStream in) throws IOException {
+        int length = readCount(in);
+        if (length - 1 > MAX_STRING) {
+            throw new IOException("World snapshot holds a string of " + (length - 1) + " bytes, longer than any it writes");
+        }
+        for (int left = length - 1; left > 0; ) {
+            int skipped = in.skipBytes(left);
+            if (skipped <= 0) in.readByte();            // at the end of the stream this throws EOFException
+            left -= Math.max(skipped, 1);
+        }
+    }
+
+    // writes a count as an unsigned varint, 7 bits at a time
+    private static void writeCount(DataOutputStream out, int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Can't write negative count " + count + " to a world snapshot");
+        }
+        while ((count & ~0x7F) != 0) {
+            out.writeByte(count & 0x7F | 0x80);
+            count >>>= 7;
+        }
+        out.writeByte(count);
+    }
+
+    // reads a count written by writeCount(), rejecting one that doesn't fit in an int
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = in.readByte();
+            count |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (count < 0) break;
+                return count;
+            }
+        }
+        throw new IOException("World snapshot holds a malformed count");
+    }
+}
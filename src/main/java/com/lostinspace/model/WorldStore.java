@@ -0,0 +1,297 @@
+package com.lostinspace.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/*
+ * World Store Class |
+ * Rooms, exits and starting item placements kept in a memory-mapped file instead of on the heap.
+ * An offset index finds any room's record without reading the others, and a second index
+ * of room ids sorted by lowercase name finds a room by name with a binary search,
+ * so neither the rooms nor their names have to be loaded to open a store.
+ * Rooms are only built as Room objects when asked for, and the most recently used are kept
+ * in a bounded cache, so the size of a world is limited by disk rather than heap.
+ * The cache is split into stripes by room id, each an LRU with its own lock, so sessions rarely wait on each other.
+ *
+ * Layout (big-endian): int magic "LISR", short version, short 0, int room count, int symbol count,
+ *   int[room count]  offset of each room's record, by room id
+ *   int[room count]  room ids in order of their lowercase names
+ * then one record per room:
+ *   name, description     int byte length then UTF-8
+ *   exits                 int[4] room id north / south / east / west, -1 for none
+ *   items, interactables  int count then the symbol ids placed there at the start
+ */
+public class WorldStore {
+    public static final int MAGIC = 0x4C495352;         // "LISR"
+    public static final short VERSION = 2;              // bump when the layout changes
+    public static final int DEFAULT_CACHE_SIZE = 256;   // rooms kept built at once
+    public static final int MAX_STRIPES = 16;           // locks the cache is split over, a power of two
+    private static final int HEADER = 16;               // bytes before the offset index
+    private static final int NO_EXIT = -1;
+
+    private final ByteBuffer file;                      // the mapped store, only read with absolute gets or duplicates
+    private final int roomCount;
+    private final int symbolCount;                      // size of the symbol table the placements were written with
+    private final Stripe[] stripes;                     // built rooms, by the low bits of their ids
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private RoomsRoot map;                              // map the built rooms resolve their exits through
+    private volatile IntFunction<Item> objects;         // resolves placed symbol ids to items, null until bound
+
+    // CTOR
+    private WorldStore(ByteBuffer file, int cacheSize) {
+        this.file = file;
+        this.roomCount = file.getInt(8);
+        this.symbolCount = file.getInt(12);
+        int count = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, cacheSize)));  // every stripe holds a room
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.max(1, cacheSize / count));
+        }
+    }
+
+    // maps a store file, keeping at most cacheSize rooms built at once
+    public static WorldStore open(Path path, int cacheSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // stays mapped after close
+            if (file.capacity() < HEADER || file.getInt(0) != MAGIC) {
+                throw new IOException("Not a Lost in Space world store: " + path);
+            }
+            if (file.getShort(4) != VERSION) {
+                throw new IOException("Unsupported world store version " + file.getShort(4) + ": " + path);
+            }
+            return new WorldStore(file, cacheSize);
+        }
+    }
+
+    // writes the rooms and starting item placements of a template to a store file
+    public static void write(Path path, WorldTemplate template) throws IOException {
+        RoomsRoot map = template.getMap();
+        int roomCount = map.getRoomCount();
+
+        List<Integer> byName = new ArrayList<>(roomCount);
+        for (int id = 0; id < roomCount; id++) byName.add(id);
+        byName.sort(Comparator.comparing(id -> map.getRoomName(id).toLowerCase()));
+
+        ByteBuffer index = ByteBuffer.allocate(HEADER + 8 * roomCount);
+        index.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(roomCount).putInt(template.getSymbols().size());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = index.capacity();
+            for (int id = 0; id < roomCount; id++) {
+                if (position > Integer.MAX_VALUE) {
+                    throw new IOException("World is too large for one store file");
+                }
+                index.putInt(HEADER + 4 * id, (int) position);
+
+                Room room = map.getRoom(id);
+                byte[] name = room.getName().getBytes(StandardCharsets.UTF_8);
+                byte[] description = room.getDescription().getBytes(StandardCharsets.UTF_8);
+                List<Item> items = template.getItemsInRoom().get(id);
+                List<Item> interactables = template.getInteractablesInRoom().get(id);
+
+                ByteBuffer record = ByteBuffer.allocate(4 + name.length + 4 + description.length
+                        + 4 * Exit.DIRECTION_COUNT + 4 + 4 * items.size() + 4 + 4 * interactables.size());
+                record.putInt(name.length).put(name).putInt(description.length).put(description);
+                for (int dir = 0; dir < Exit.DIRECTION_COUNT; dir++) {
+                    Room exit = room.getExit(dir);
+                    record.putInt(exit == null ? NO_EXIT : exit.getId());
+                }
+                putIds(record, items);
+                putIds(record, interactables);
+                record.flip();
+                while (record.hasRemaining()) {
+                    position += channel.write(record, position);
+                }
+            }
+
+            index.position(HEADER + 4 * roomCount);
+            for (int id : byName) index.putInt(id);
+            index.flip();
+            long at = 0;
+            while (index.hasRemaining()) {
+                at += channel.write(index, at);
+            }
+        }
+    }
+
+    /*
+     * returns the room with the given id, building it from its record if it isn't cached
+     * only the room's stripe is locked, and a room is read outside it, so other sessions carry on meanwhile
+     */
+    public Room getRoom(int id) {
+        Stripe stripe = stripes[id & (stripes.length - 1)];
+        Room room;
+        synchronized (stripe) {
+            room = stripe.get(id);
+        }
+        if (room != null) {
+            hits.increment();
+            return room;
+        }
+        misses.increment();
+        Room read = read(id);
+        synchronized (stripe) {
+            room = stripe.putIfAbsent(id, read);        // a room two sessions read at once is kept only once
+        }
+        return room != null ? room : read;
+    }
+
+    // returns the id of the room with the given name, or -1 if there is none
+    public int idOf(String name) {
+        int id = idOfLowerCase(name.toLowerCase());
+        return id >= 0 && nameOf(id).equals(name) ? id : -1;
+    }
+
+    // returns the id of the room whose name is the given one in lowercase, or -1 if there is none
+    public int idOfLowerCase(String name) {
+        int low = 0;
+        int high = roomCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = file.getInt(HEADER + 4 * roomCount + 4 * mid);
+            int cmp = nameOf(id).toLowerCase().compareTo(name);
+            if (cmp == 0) return id;
+            if (cmp < 0) low = mid + 1;
+            else high = mid - 1;
+        }
+        return -1;
+    }
+
+    // returns the name of a room straight from its record, without building or caching the room
+    public String nameOf(int id) {
+        return string(offset(id));
+    }
+
+    // ACCESSOR METHODS
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public int getCachedRooms() {
+        int rooms = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                rooms += stripe.size();
+            }
+        }
+        return rooms;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    void setMap(RoomsRoot map) {
+        this.map = map;
+    }
+
+    // resolves placements with the template's objects; rooms built before this didn't have them, so they are dropped
+    void bindObjects(IntFunction<Item> objects) {
+        this.objects = objects;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private Room read(int id) {
+        if (id < 0 || id >= roomCount) {
+            throw new IndexOutOfBoundsException("No room with id " + id);
+        }
+        int at = offset(id);
+        Room room = new Room();
+        room.name = string(at);
+        at += 4 + file.getInt(at);
+        room.description = string(at);
+        at += 4 + file.getInt(at);
+
+        int[] exitIds = new int[Exit.DIRECTION_COUNT];
+        String[] exitNames = new String[Exit.DIRECTION_COUNT];
+        for (int dir = 0; dir < Exit.DIRECTION_COUNT; dir++, at += 4) {
+            exitIds[dir] = file.getInt(at);
+            exitNames[dir] = exitIds[dir] == NO_EXIT ? "" : nameOf(exitIds[dir]);
+        }
+        room.exits = new Exit(exitNames[Exit.NORTH], exitNames[Exit.SOUTH], exitNames[Exit.EAST], exitNames[Exit.WEST]);
+        room.setId(id);
+        room.setExitIds(exitIds, map);
+
+        IntFunction<Item> objects = this.objects;
+        if (objects != null) {
+            List<Item> items = items(at, room, objects);
+            at += 4 + 4 * items.size();
+            room.setStartingItems(items, items(at, room, objects));
+        }
+        return room;
+    }
+
+    private List<Item> items(int at, Room room, IntFunction<Item> objects) {
+        int count = file.getInt(at);
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = file.getInt(at + 4 + 4 * i);
+            Item item = objects.apply(id);
+            if (item == null) {
+                throw new IllegalStateException("World store places unknown object id " + id + " in room \"" + room.getName() + "\"");
+            }
+            items.add(item);
+        }
+        return List.copyOf(items);
+    }
+
+    private int offset(int id) {
+        return file.getInt(HEADER + 4 * id);
+    }
+
+    private String string(int at) {
+        byte[] bytes = new byte[file.getInt(at)];
+        ByteBuffer slice = file.duplicate();            // own position, so concurrent readers don't interfere
+        slice.position(at + 4);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putIds(ByteBuffer record, List<Item> items) {
+        record.putInt(items.size());
+        for (Item item : items) record.putInt(item.getId());
+    }
+
+    // one part of the room cache: an LRU of built rooms, locked on itself
+    private static final class Stripe extends LinkedHashMap<Integer, Room> {
+        private final int size;
+
+        Stripe(int size) {
+            super(size * 4 / 3 + 1, 0.75f, true);
+            this.size = size;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Room> eldest) {
+            return size() > size;
+        }
+    }
+}
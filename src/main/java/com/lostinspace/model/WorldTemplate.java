@@ -0,0 +1,323 @@
+package com.lostinspace.model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * World Template Class |
+ * All game content, loaded once per JVM and shared read-only by every session:
+ * the room graph, item definitions, symbol table, starting item placements and resolved item uses.
+ * A session keeps only what it changes in its own GameState.
+ */
+public class WorldTemplate {
+    public static final int ROUTE_CACHE_SIZE = 64;      // route tables kept for other sets of locked doors
+
+    private final RoomsRoot map;                        // room graph
+    private final List<Item> items;                     // collectable items, as authored
+    private final List<HiddenItem> hiddenItems;         // items that begin as hidden, as authored
+    private final List<Item> interactables;             // interactable objects, as authored
+    private final SymbolTable symbols;                  // every name and synonym -> id
+    private final List<Item> objects;                   // item, interactable or revealed hidden item by id
+    private final List<ItemUse> itemUses;               // resolved item uses by id
+    private final RoomIndex itemsInRoom;                // starting room -> collectable items
+    private final RoomIndex interactablesInRoom;        // starting room -> interactables
+    private final BitSet usedAtStart = new BitSet();    // ids of objects authored as already used
+    private final BitSet lockedAtStart = new BitSet();  // ids of doors and interactables locked at the start
+    private final int[] objectiveIds;                   // ids of the items that must be used to win
+    private final Room startRoom;                       // where every game begins
+    private final Map<BitSet, RouteTable> routes = routeCache(); // locked rooms -> routes around them, least recently used first
+    private RouteTable startingRoutes;                  // routes with the doors locked at the start, null until first used, never evicted
+    private int directionBase;                          // symbol id of "north"; directions follow in Exit index order
+    private int roomKeyword;                            // symbol id of "room", as in INSPECT ROOM
+
+    // CTOR builds every index from the loaded content, failing fast on anything that doesn't resolve
+    public WorldTemplate(RoomsRoot map, List<Item> items, List<HiddenItem> hiddenItems, List<Item> interactables,
+                         Map<String, Map<String, String>> itemUseMap, Map<String, Boolean> lockedObjects,
+                         List<String> objectiveItems, String startRoom) {
+        this.map = map;
+        this.items = Collections.unmodifiableList(items);
+        this.hiddenItems = Collections.unmodifiableList(hiddenItems);
+        this.interactables = Collections.unmodifiableList(interactables);
+
+        this.startRoom = map.getRoom(startRoom);
+        if (this.startRoom == null) {
+            throw new IllegalStateException("Unknown starting room \"" + startRoom + "\"");
+        }
+
+        this.symbols = loadSymbols();
+        checkPlacements();
+
+        // every object by id, hidden items as the item they become once revealed
+        List<Item> objects = new ArrayList<>(Collections.nCopies(symbols.size(), null));
+        for (Item item : items) objects.set(item.getId(), item);
+        for (Item interactable : interactables) objects.set(interactable.getId(), interactable);
+        for (HiddenItem hiddenItem : hiddenItems) objects.set(hiddenItem.getId(), new Item(hiddenItem));
+        for (Item object : objects) {
+            if (object != null && object.isUsed()) usedAtStart.set(object.getId());
+        }
+        this.objects = Collections.unmodifiableList(objects);
+
+        // every hidden item must be inside something the player can find
+        for (HiddenItem hiddenItem : hiddenItems) {
+            for (String container : hiddenItem.getInside()) {
+                if (getObject(symbols.idOf(container)) == null) {
+                    throw new IllegalStateException("Hidden item \"" + hiddenItem.getName() + "\" is inside unknown container \"" + container + "\"");
+                }
+            }
+        }
+
+        if (map.getStore() != null) {
+            // a store keeps its own starting placements, read as each room is built
+            if (map.getStore().getSymbolCount() != symbols.size()) {
+                throw new IllegalStateException("World store was written for different game content");
+            }
+            map.bindObjects(this::getObject);
+            this.itemsInRoom = new RoomIndex(roomId -> map.getRoom(roomId).getStartingItems());
+            this.interactablesInRoom = new RoomIndex(roomId -> map.getRoom(roomId).getStartingInteractables());
+        } else {
+            this.itemsInRoom = new RoomIndex(map.getRoomCount());
+            this.itemsInRoom.addAll(items, map);
+            this.interactablesInRoom = new RoomIndex(map.getRoomCount());
+            this.interactablesInRoom.addAll(interactables, map);
+        }
+
+        lockedObjects.forEach((name, locked) -> lockedAtStart.set(symbols.intern(name), locked));
+        this.objectiveIds = objectiveItems.stream().mapToInt(symbols::intern).toArray();
+
+        this.itemUses = loadItemUseHandlers(itemUseMap);
+
+        // a store's rooms are only read once someone travels, a heap map's routes are worked out now
+        if (map.getStore() == null) {
+            startingRoutes();
+        }
+    }
+
+    // interns an object's name, failing if another object already has it
+    private static int define(SymbolTable symbols, BitSet defined, String name) {
+        int id = symbols.intern(name);
+        if (defined.get(id)) {
+            throw new IllegalStateException("Duplicate object name \"" + name + "\"");
+        }
+        defined.set(id);
+        return id;
+    }
+
+    /*
+     * every collectable item starts in at most one room and nothing is listed twice in a room,
+     * so a game never holds two copies of one object, which PackedState relies on
+     * interactables, which never move, may stand in several rooms
+     */
+    private void checkPlacements() {
+        for (Item item : items) {
+            List<String> rooms = item.getRoom() == null ? List.of() : item.getRoom();
+            if (rooms.size() > 1) {
+                throw new IllegalStateException("Item \"" + item.getName() + "\" is placed in more than one room: " + rooms);
+            }
+        }
+        for (Item interactable : interactables) {
+            List<String> rooms = interactable.getRoom() == null ? List.of() : interactable.getRoom();
+            if (new HashSet<>(rooms).size() != rooms.size()) {
+                throw new IllegalStateException("Interactable \"" + interactable.getName() + "\" is listed twice in one room: " + rooms);
+            }
+        }
+    }
+
+    /*
+     * builds the symbol table from the loaded game objects
+     * rooms come first so a room's symbol id is the same as its room id;
+     * a store's rooms keep their names in its index, so they are looked up there rather than interned
+     */
+    private SymbolTable loadSymbols() {
+        SymbolTable symbols = new SymbolTable();
+
+        WorldStore store = map.getStore();
+        if (store != null) {
+            symbols.reserve(store.getRoomCount(), store::idOfLowerCase, id -> store.nameOf(id).toLowerCase());
+        } else {
+            for (int id = 0; id < map.getRoomCount(); id++) {
+                String name = map.getRoomName(id);
+                if (symbols.intern(name) != id) {
+                    throw new IllegalStateException("Duplicate room name \"" + name + "\"");
+                }
+            }
+        }
+
+        // keywords the player types in place of a noun
+        directionBase = symbols.intern("north");
+        symbols.intern("south");
+        symbols.intern("east");
+        symbols.intern("west");
+        roomKeyword = symbols.intern("room");
+
+        // one object per name, so an id never stands for two copies of a thing
+        BitSet defined = new BitSet();
+        for (Item item : items) {
+            item.setId(define(symbols, defined, item.getName()));
+        }
+        for (HiddenItem hiddenItem : hiddenItems) {
+            hiddenItem.setId(define(symbols, defined, hiddenItem.getName()));
+        }
+        for (Item interactable : interactables) {
+            interactable.setId(define(symbols, defined, interactable.getName()));
+        }
+
+        // synonyms are added last so they never shadow a real name
+        for (Item item : items) {
+            item.getSynonyms().forEach(synonym -> symbols.alias(synonym, item.getId()));
+        }
+        for (HiddenItem hiddenItem : hiddenItems) {
+            hiddenItem.getSynonyms().forEach(synonym -> symbols.alias(synonym, hiddenItem.getId()));
+        }
+        for (Item interactable : interactables) {
+            interactable.getSynonyms().forEach(synonym -> symbols.alias(synonym, interactable.getId()));
+        }
+        return symbols;
+    }
+
+    /*
+     * resolves the "method" of every itemuses.json entry into a handle on ItemUseMethods
+     * a missing item or method fails here, when the game loads, rather than in the middle of a game
+     */
+    private List<ItemUse> loadItemUseHandlers(Map<String, Map<String, String>> itemUseMap) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodType type = MethodType.methodType(void.class);
+
+        List<ItemUse> itemUses = new ArrayList<>(Collections.nCopies(symbols.size(), null));
+        itemUseMap.forEach((name, use) -> {
+            int id = symbols.idOf(name);
+            if (id == SymbolTable.NONE) {
+                throw new IllegalStateException("itemuses.json has an entry for unknown item \"" + name + "\"");
+            }
+
+            String methodName = use.get("method");
+            try {
+                MethodHandle handle = lookup.findVirtual(ItemUseMethods.class, methodName, type);
+                itemUses.set(id, new ItemUse(use.get("useDescription"), methodName, handle));
+            } catch (NoSuchMethodException | IllegalAccessException err) {
+                throw new IllegalStateException("itemuses.json entry \"" + name + "\" names a missing method \"" + methodName + "\"", err);
+            }
+        });
+        return Collections.unmodifiableList(itemUses);
+    }
+
+    // returns the item, interactable or hidden item with the given id, or null if the id names something else
+    public Item getObject(int id) {
+        return id >= 0 && id < objects.size() ? objects.get(id) : null;
+    }
+
+    // returns the resolved use of an item id, or null if it has none
+    public ItemUse getItemUse(int id) {
+        return id >= 0 && id < itemUses.size() ? itemUses.get(id) : null;
+    }
+
+    /*
+     * returns the routes around the rooms a session has locked
+     * every session with the same doors locked shares one table, worked out the first time any of them asks;
+     * only the ROUTE_CACHE_SIZE most recently used tables are kept, besides the one for the starting locks
+     */
+    public RouteTable getRoutes(GameState state) {
+        BitSet locked = state.getLocked().get(0, map.getRoomCount());
+        RouteTable start = startingRoutes();
+        if (locked.equals(start.getLocked())) return start;
+        synchronized (routes) {
+            return routes.computeIfAbsent(locked, start::withLocked);
+        }
+    }
+
+    /*
+     * call before a session unlocks a room: derives the routes it will have from the ones it has now,
+     * updating only the routes that get shorter instead of working every one out again
+     */
+    public void unlockRoutes(GameState state, int room) {
+        if (room < 0 || room >= map.getRoomCount() || !state.isLocked(room)) return;  // not a locked door
+        RouteTable before = getRoutes(state);
+        BitSet after = (BitSet) before.getLocked().clone();
+        after.clear(room);
+        synchronized (routes) {
+            if (routes.containsKey(after)) return;
+        }
+        RouteTable table = before.unlock(room);         // copies every filled column, so it is done outside the lock
+        synchronized (routes) {
+            routes.putIfAbsent(after, table);
+        }
+    }
+
+    // builds the route table for the starting locks the first time it is needed
+    private synchronized RouteTable startingRoutes() {
+        if (startingRoutes == null) {
+            startingRoutes = new RouteTable(map, lockedAtStart.get(0, map.getRoomCount()));
+        }
+        return startingRoutes;
+    }
+
+    // an access-ordered map that drops the least recently used table once it holds more than ROUTE_CACHE_SIZE
+    private static Map<BitSet, RouteTable> routeCache() {
+        return new LinkedHashMap<>(ROUTE_CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BitSet, RouteTable> eldest) {
+                return size() > ROUTE_CACHE_SIZE;
+            }
+        };
+    }
+
+    // ACCESSOR METHODS
+    public RoomsRoot getMap() {
+        return map;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public List<HiddenItem> getHiddenItems() {
+        return hiddenItems;
+    }
+
+    public List<Item> getInteractables() {
+        return interactables;
+    }
+
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    public RoomIndex getItemsInRoom() {
+        return itemsInRoom;
+    }
+
+    public RoomIndex getInteractablesInRoom() {
+        return interactablesInRoom;
+    }
+
+    BitSet getUsedAtStart() {
+        return usedAtStart;
+    }
+
+    BitSet getLockedAtStart() {
+        return lockedAtStart;
+    }
+
+    public int[] getObjectiveIds() {
+        return objectiveIds.clone();
+    }
+
+    public Room getStartRoom() {
+        return startRoom;
+    }
+
+    public int getDirectionBase() {
+        return directionBase;
+    }
+
+    public int getRoomKeyword() {
+        return roomKeyword;
+    }
+}
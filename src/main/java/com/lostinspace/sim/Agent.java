@@ -0,0 +1,16 @@
+package com.lostinspace.sim;
+
+import com.lostinspace.controller.Controller;
+
+import java.util.SplittableRandom;
+
+/*
+ * Agent Interface |
+ * A policy that plays the game headlessly by choosing the next command to type.
+ * A new agent is created for every playthrough, so agents may keep per-game state.
+ */
+@FunctionalInterface
+public interface Agent {
+    // returns the next command line, or null when the agent has nothing more to do
+    String nextCommand(Controller game, SplittableRandom random);
+}
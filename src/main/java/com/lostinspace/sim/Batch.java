@@ -0,0 +1,117 @@
+package com.lostinspace.sim;
+
+/*
+ * Batch Class |
+ * Plays command scripts through the normal command path at full speed, with no clearing and no ENTER pauses.
+ * Each script gets a fresh headless game; its final state is printed when it ends,
+ * then the time every command took, by verb, over all of the scripts.
+ * Used for throughput regression runs and for checking recorded player transcripts.
+ *
+ * usage: App --batch [--o2-per-move X] [--each] FILE...
+ *   --each also prints every command with its own time
+ */
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.util.ScriptReader;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class Batch {
+    private double oxygenPerMove = 0.00;        // oxygen each move uses, as in a console game
+    private boolean each;                       // print every command's time, not just the totals
+    private final ScriptReader reader = new ScriptReader();
+    private final Map<String, Timings> byVerb = new TreeMap<>(); // command times, keyed by the command's first word
+    private long commands;                      // commands played over every script
+    private long totalNanos;                    // time spent in those commands
+
+    public static void main(String[] args) throws IOException {
+        Batch batch = new Batch();
+        int scripts = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--o2-per-move":
+                    batch.oxygenPerMove = Double.parseDouble(args[++i]);
+                    break;
+                case "--each":
+                    batch.each = true;
+                    break;
+                default:
+                    batch.play(Path.of(args[i]), System.out);
+                    scripts++;
+            }
+        }
+        batch.printTimings(System.out, scripts);
+    }
+
+    // plays one script on a fresh game and prints the state it ended in
+    public void play(Path script, PrintStream out) throws IOException {
+        List<String> lines = reader.readScript(script);
+
+        Controller game = Controller.headless();
+        game.setBatchMode(true);
+        game.setOxygenPerMove(oxygenPerMove);
+        game.loadGameObjects();
+
+        int played = 0;
+        for (String command : lines) {
+            if (!game.isRunning()) break;               // the script quit the game
+
+            long start = System.nanoTime();
+            game.userCommands(command);
+            long nanos = System.nanoTime() - start;
+
+            played++;
+            record(command, nanos);
+            if (each) {
+                out.printf("  %10.1f us  %s%n", nanos / 1e3, command);
+            }
+        }
+
+        Replay.print(out, script.toString(), game);
+        out.printf("  Commands:   %d of %d%n%n", played, lines.size());
+    }
+
+    // prints the time commands took, by verb, over every script played
+    public void printTimings(PrintStream out, int scripts) {
+        out.printf("%-12s %10s %12s %12s %12s%n", "command", "count", "mean (us)", "p99 (us)", "max (us)");
+        byVerb.forEach((verb, timings) -> timings.print(out, verb));
+        out.printf("Played %d commands from %d scripts in %.1f ms (%.0f commands per second)%n",
+                commands, scripts, totalNanos / 1e6, commands / Math.max(totalNanos / 1e9, 1e-9));
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private void record(String command, long nanos) {
+        int space = command.indexOf(' ');
+        String verb = (space < 0 ? command : command.substring(0, space)).toLowerCase();
+        byVerb.computeIfAbsent(verb, key -> new Timings()).add(nanos);
+        commands++;
+        totalNanos += nanos;
+    }
+
+    // every time one verb took, in nanoseconds
+    private static class Timings {
+        private long[] nanos = new long[64];
+        private int count;
+
+        void add(long time) {
+            if (count == nanos.length) nanos = Arrays.copyOf(nanos, count * 2);
+            nanos[count++] = time;
+        }
+
+        void print(PrintStream out, String verb) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long time : sorted) sum += time;
+            out.printf("%-12s %10d %12.1f %12.1f %12.1f%n", verb, count, sum / 1e3 / count,
+                    sorted[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)] / 1e3, sorted[count - 1] / 1e3);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.lostinspace.sim;
+
+/*
+ * Hints Class |
+ * Answers HINT for every session in the JVM: the next command on the shortest win from the state a session is in.
+ * Searches run on a small fork/join pool of their own, so a burst of hints never takes over the common pool
+ * that simulations, streams and metrics share, and answers are cached by packed state and rules,
+ * so every session asking from the same state shares one search, even one still running.
+ * Each search is capped both in states and in the memory they take, so large worlds give up instead of filling the heap.
+ */
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.PackedState;
+import com.lostinspace.model.WorldTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+public class Hints {
+    public static final long MAX_STATES = 250_000;              // a search from the start of the game needs about 25,000
+    public static final long MAX_SEARCH_BYTES = 64L << 20;      // heap one search may fill with states
+    public static final int CACHE_SIZE = 4096;                  // answers kept, least recently used dropped first
+
+    private final ForkJoinPool pool;
+    private final Map<Key, CompletableFuture<Hint>> cache;      // state and rules -> answer, or the search finding it
+
+    // CTOR for hints searched with the given number of threads
+    public Hints(int threads) {
+        this.pool = new ForkJoinPool(threads);
+        this.cache = new LinkedHashMap<>(CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<Hint>> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
+
+    // returns the hints every session shares, searched on half the cores, created on first use
+    public static Hints shared() {
+        return Holder.SHARED;
+    }
+
+    // returns the answer for a session's state if it is known or being searched for, without starting a search
+    public Hint cached(Controller game) {
+        CompletableFuture<Hint> answer;
+        synchronized (cache) {
+            answer = cache.get(new Key(game));
+        }
+        return answer == null ? null : answer.join();
+    }
+
+    /*
+     * returns the answer for a session's state, searching for it on the hint pool if no session has yet
+     * the calling thread waits for the search, which plays on copies of the game made by 'games'
+     */
+    public Hint next(Controller game, Supplier<Controller> games) {
+        Key key = new Key(game);
+        CompletableFuture<Hint> answer;
+        boolean search = false;
+        synchronized (cache) {
+            answer = cache.get(key);
+            if (answer == null) {
+                answer = new CompletableFuture<>();
+                cache.put(key, answer);
+                search = true;
+            }
+        }
+        if (search) {
+            CompletableFuture<Hint> found = answer;
+            pool.execute(() -> {
+                try {
+                    found.complete(search(game, key.state.size(), games));
+                } catch (RuntimeException | Error err) {
+                    synchronized (cache) {
+                        cache.remove(key, found);               // let a later HINT try again
+                    }
+                    found.completeExceptionally(err);
+                }
+            });
+        }
+        return answer.join();
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // searches for the shortest win from a game; runs on the pool, so the solver's parallel levels stay on it too
+    private static Hint search(Controller game, int words, Supplier<Controller> games) {
+        Solver solver = new Solver(games);
+        solver.setStopAtFirstWin(true);
+        solver.setMaxStates(Math.min(MAX_STATES, MAX_SEARCH_BYTES / bytesPerState(words)));
+        Solver.Result result = solver.solve(game);
+        return new Hint(result.isWinnable(), result.isComplete(),
+                result.isWinnable() ? result.getWinningCommands() : List.of());
+    }
+
+    // roughly what one searched state holds on the heap: two packed copies, its node and its map entry
+    private static long bytesPerState(int words) {
+        return 2 * (16 + 16 + (long) words * Long.BYTES) + 64 + 48;
+    }
+
+    // what a HINT tells the player
+    public static final class Hint {
+        private final boolean winnable;
+        private final boolean complete;                 // false when the search stopped at its limit
+        private final String nextCommand;               // null when there is nothing left to do or no way to win
+        private final int commandsLeft;
+
+        Hint(boolean winnable, boolean complete, List<String> winningCommands) {
+            this.winnable = winnable;
+            this.complete = complete;
+            this.nextCommand = winningCommands.isEmpty() ? null : winningCommands.get(0);
+            this.commandsLeft = winningCommands.size();
+        }
+
+        // ACCESSOR METHODS
+        public boolean isWinnable() {
+            return winnable;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public String getNextCommand() {
+            return nextCommand;
+        }
+
+        public int getCommandsLeft() {
+            return commandsLeft;
+        }
+    }
+
+    // a session's state and the rules that decide where it can go from there
+    private static final class Key {
+        final WorldTemplate template;
+        final PackedState state;
+        final double oxygenPerMove;
+        final double oxygenRefill;
+        final boolean easyMode;
+
+        Key(Controller game) {
+            this.template = game.getTemplate();
+            this.state = PackedState.pack(game.getState(), template);
+            this.oxygenPerMove = game.getOxygenPerMove();
+            this.oxygenRefill = game.getItemUseMethods().getOxygenRefill();
+            this.easyMode = game.getItemUseMethods().isEasyMode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) return false;
+            Key key = (Key) other;
+            return template == key.template && state.equals(key.state) && oxygenPerMove == key.oxygenPerMove
+                    && oxygenRefill == key.oxygenRefill && easyMode == key.easyMode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(template), state, oxygenPerMove, oxygenRefill, easyMode);
+        }
+    }
+
+    // loads on first use, which the JVM makes thread safe, so a game that never asks for a hint starts no threads
+    private static class Holder {
+        static final Hints SHARED = new Hints(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+}
@@ -0,0 +1,48 @@
+package com.lostinspace.sim;
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.Exit;
+import com.lostinspace.model.Item;
+import com.lostinspace.model.Room;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/*
+ * Random Agent Class |
+ * Picks uniformly among the commands that could change the game from where the player stands:
+ * walking through an exit, getting an item in the room, or using an unused item or interactable.
+ * Where there is none, as in a dead-end room of a generated world, it looks around instead.
+ */
+public class RandomAgent implements Agent {
+    public static final String IDLE = "inspect room";  // command played when nothing could change the game
+    private final List<String> options = new ArrayList<>(); // reused between turns
+
+    @Override
+    public String nextCommand(Controller game, SplittableRandom random) {
+        options.clear();
+        options(game, options);
+        return options.isEmpty() ? IDLE : options.get(random.nextInt(options.size()));
+    }
+
+    // adds every command that could change the game from where the player stands, in a fixed order
+    static void options(Controller game, List<String> options) {
+        Room room = game.getPlayer().getRoom();
+
+        for (int dir = 0; dir < Exit.DIRECTION_COUNT; dir++) {
+            if (room.getExit(dir) != null) {
+                options.add("go " + Exit.DIRECTION_NAMES[dir]);
+            }
+        }
+        for (Item item : game.getItemsInRoom().get(room.getId())) {
+            options.add("get " + item.getName());
+        }
+        for (Item interactable : game.getInteractablesInRoom().get(room.getId())) {
+            if (!game.isUsed(interactable)) options.add("use " + interactable.getName());
+        }
+        for (Item item : game.getInventory()) {
+            if (!game.isUsed(item)) options.add("use " + item.getName());
+        }
+    }
+}
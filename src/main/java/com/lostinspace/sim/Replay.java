@@ -0,0 +1,52 @@
+package com.lostinspace.sim;
+
+/*
+ * Replay Class |
+ * Rebuilds sessions from their command journals, headless and at full speed,
+ * then prints where each one ended up. Used to reproduce a player's game exactly.
+ *
+ * usage: App --replay [--o2-per-move X] FILE...
+ */
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.Item;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+public class Replay {
+
+    public static void main(String[] args) throws IOException {
+        double oxygenPerMove = 0.00;                    // must match the session that wrote the journal
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--o2-per-move")) {
+                oxygenPerMove = Double.parseDouble(args[++i]);
+                continue;
+            }
+
+            Controller game = Controller.headless();
+            game.setOxygenPerMove(oxygenPerMove);
+            game.loadGameObjects();
+
+            long start = System.nanoTime();
+            int commands = game.replayJournal(Path.of(args[i]));
+            double micros = (System.nanoTime() - start) / 1e3;
+
+            print(System.out, args[i], game);
+            System.out.printf("Replayed %d commands in %.0f us%n%n", commands, micros);
+        }
+    }
+
+    // prints the state a replayed session ended in
+    static void print(PrintStream out, String journal, Controller game) {
+        out.println(journal);
+        out.println("  Room:       " + game.getPlayer().getCurrentRoom());
+        out.printf("  Oxygen:     %.2f%n", game.getPlayer().getOxygen());
+        out.println("  Inventory:  " + game.getInventory().stream()
+                .map(item -> item.getName() + (game.isUsed(item) ? " (used)" : ""))
+                .collect(Collectors.joining(", ")));
+        out.println("  Objective:  " + (game.isObjectiveComplete() ? "complete" : "incomplete"));
+    }
+}
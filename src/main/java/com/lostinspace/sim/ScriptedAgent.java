@@ -0,0 +1,25 @@
+package com.lostinspace.sim;
+
+import com.lostinspace.controller.Controller;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/*
+ * Scripted Agent Class |
+ * Types a fixed list of commands in order, then stops.
+ */
+public class ScriptedAgent implements Agent {
+    private final List<String> script;  // one command per entry
+    private int next;                   // index of the next command to type
+
+    // CTOR
+    public ScriptedAgent(List<String> script) {
+        this.script = script;
+    }
+
+    @Override
+    public String nextCommand(Controller game, SplittableRandom random) {
+        return next < script.size() ? script.get(next++) : null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.lostinspace.sim;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/*
+ * Simulation Report Class |
+ * Outcome counts for a batch of playthroughs.
+ * Each worker thread fills its own report and the reports are merged at the end, so recording takes no locks.
+ */
+public class SimulationReport {
+    private long runs;                  // playthroughs recorded
+    private long wins;                  // objectives completed
+    private long suffocated;            // ran out of oxygen first
+    private long timedOut;              // hit the step limit, or the agent gave up
+    private long winSteps;              // total commands typed across all wins
+    private double winOxygen;           // total oxygen left across all wins
+    private double minWinOxygen = Double.MAX_VALUE;
+    private double maxWinOxygen;
+    private final long[] oxygenBuckets = new long[11]; // wins by oxygen left, in 10% bands (100% gets its own)
+    private final long[] roomVisits;    // times each room was entered, indexed by room id
+
+    // CTOR
+    public SimulationReport(int roomCount) {
+        roomVisits = new long[roomCount];
+    }
+
+    public void visit(int roomId) {
+        roomVisits[roomId]++;
+    }
+
+    public void win(int steps, double oxygen) {
+        runs++;
+        wins++;
+        winSteps += steps;
+        winOxygen += oxygen;
+        minWinOxygen = Math.min(minWinOxygen, oxygen);
+        maxWinOxygen = Math.max(maxWinOxygen, oxygen);
+        oxygenBuckets[(int) Math.min(10, Math.max(0, oxygen / 10))]++;
+    }
+
+    public void suffocated() {
+        runs++;
+        suffocated++;
+    }
+
+    public void timedOut() {
+        runs++;
+        timedOut++;
+    }
+
+    // adds the counts of another report into this one
+    public SimulationReport merge(SimulationReport other) {
+        runs += other.runs;
+        wins += other.wins;
+        suffocated += other.suffocated;
+        timedOut += other.timedOut;
+        winSteps += other.winSteps;
+        winOxygen += other.winOxygen;
+        minWinOxygen = Math.min(minWinOxygen, other.minWinOxygen);
+        maxWinOxygen = Math.max(maxWinOxygen, other.maxWinOxygen);
+        for (int i = 0; i < oxygenBuckets.length; i++) oxygenBuckets[i] += other.oxygenBuckets[i];
+        for (int i = 0; i < roomVisits.length; i++) roomVisits[i] += other.roomVisits[i];
+        return this;
+    }
+
+    // prints the report, using roomNames to label room visits
+    public void print(PrintStream out, List<String> roomNames) {
+        out.printf("Playthroughs:          %d%n", runs);
+        out.printf("Win rate:              %.2f%%%n", percent(wins, runs));
+        out.printf("Ran out of oxygen:     %.2f%%%n", percent(suffocated, runs));
+        out.printf("Out of steps:          %.2f%%%n", percent(timedOut, runs));
+
+        if (wins > 0) {
+            out.printf("Steps to win (mean):   %.1f%n", (double) winSteps / wins);
+            out.printf("Oxygen at completion:  mean %.2f, min %.2f, max %.2f%n", winOxygen / wins, minWinOxygen, maxWinOxygen);
+            for (int i = 0; i < oxygenBuckets.length; i++) {
+                String band = i == 10 ? "100" : String.format("%d-%d", i * 10, i * 10 + 10);
+                out.printf("  %-8s %6.2f%%%n", band, percent(oxygenBuckets[i], wins));
+            }
+        }
+
+        long totalVisits = 0;
+        for (long visits : roomVisits) totalVisits += visits;
+        out.println("Room visits:");
+        for (int i = 0; i < roomVisits.length; i++) {
+            out.printf("  %-22s %6.2f%%  (%.1f per game)%n", roomNames.get(i), percent(roomVisits[i], totalVisits), (double) roomVisits[i] / Math.max(1, runs));
+        }
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : 100.0 * part / whole;
+    }
+
+    // ACCESSOR METHODS
+    public long getRuns() {
+        return runs;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getSuffocated() {
+        return suffocated;
+    }
+
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    public long[] getRoomVisits() {
+        return roomVisits.clone();
+    }
+}
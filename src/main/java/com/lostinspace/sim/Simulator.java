@@ -0,0 +1,181 @@
+package com.lostinspace.sim;
+
+/*
+ * Simulator Class |
+ * Plays the game headlessly, many times over, across every core, to tune oxygen economics.
+ * Each worker thread keeps its own Controller and restarts it between playthroughs;
+ * nothing is printed until the merged report at the end.
+ *
+ * usage: App --simulate [--runs N] [--max-steps N] [--seed N] [--start-o2 X] [--o2-per-move X]
+ *                       [--refill X] [--easy] [--script FILE]
+ */
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.Room;
+import com.lostinspace.util.ScriptReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class Simulator {
+    private long runs = 100_000;                // playthroughs to simulate
+    private int maxSteps = 500;                 // commands an agent may type before the run counts as out of steps
+    private long seed = 42;                     // base seed, each run uses seed + run number
+    private double startingOxygen = 80.00;
+    private double oxygenPerMove = 2.00;
+    private double oxygenRefill = 25.5;
+    private boolean easyMode = false;
+    private Supplier<Agent> agents = RandomAgent::new;
+
+    private final ThreadLocal<Controller> games = ThreadLocal.withInitial(this::newGame);
+
+    public static void main(String[] args) throws IOException {
+        Simulator simulator = new Simulator();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs":
+                    simulator.setRuns(Long.parseLong(args[++i]));
+                    break;
+                case "--max-steps":
+                    simulator.setMaxSteps(Integer.parseInt(args[++i]));
+                    break;
+                case "--seed":
+                    simulator.setSeed(Long.parseLong(args[++i]));
+                    break;
+                case "--start-o2":
+                    simulator.setStartingOxygen(Double.parseDouble(args[++i]));
+                    break;
+                case "--o2-per-move":
+                    simulator.setOxygenPerMove(Double.parseDouble(args[++i]));
+                    break;
+                case "--refill":
+                    simulator.setOxygenRefill(Double.parseDouble(args[++i]));
+                    break;
+                case "--easy":
+                    simulator.setEasyMode(true);
+                    break;
+                case "--script":
+                    List<String> script = new ScriptReader().readScript(Path.of(args[++i]));
+                    simulator.setAgents(() -> new ScriptedAgent(script));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown simulator option: " + args[i]);
+            }
+        }
+
+        long start = System.nanoTime();
+        SimulationReport report = simulator.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report.print(System.out, simulator.roomNames());
+        System.out.printf("Simulated %d playthroughs in %.2fs (%.0f per second)%n", report.getRuns(), seconds, report.getRuns() / seconds);
+    }
+
+    // plays every run in parallel and returns the merged report
+    public SimulationReport run() {
+        int roomCount = newGame().getRoomsList().size();
+        return LongStream.range(0, runs)
+                .parallel()
+                .collect(() -> new SimulationReport(roomCount), this::playOnce, SimulationReport::merge);
+    }
+
+    // plays one game from the start with a fresh agent, and records how it ended
+    void playOnce(SimulationReport report, long run) {
+        Controller game = games.get();
+        game.restart();
+        Agent agent = agents.get();
+        SplittableRandom random = new SplittableRandom(seed + run);
+
+        Room room = game.getPlayer().getRoom();
+        report.visit(room.getId());
+
+        try {
+            for (int step = 0; step < maxSteps; step++) {
+                if (game.isObjectiveComplete()) {
+                    report.win(step, game.getPlayer().getOxygen());
+                    return;
+                }
+                if (game.getPlayer().getOxygen() <= 0) {
+                    report.suffocated();
+                    return;
+                }
+
+                String command = agent.nextCommand(game, random);
+                if (command == null) break;
+                game.userCommands(command);
+
+                if (game.getPlayer().getRoom() != room) {
+                    room = game.getPlayer().getRoom();
+                    report.visit(room.getId());
+                }
+            }
+        } catch (IOException err) {
+            throw new UncheckedIOException(err);
+        }
+
+        if (game.isObjectiveComplete()) {
+            report.win(maxSteps, game.getPlayer().getOxygen());
+        } else {
+            report.timedOut();
+        }
+    }
+
+    // creates a headless game with this simulator's oxygen settings
+    Controller newGame() {
+        Controller game = Controller.headless();
+        game.setBatchMode(true);
+        game.setStartingOxygen(startingOxygen);
+        game.setOxygenPerMove(oxygenPerMove);
+        game.getItemUseMethods().setOxygenRefill(oxygenRefill);
+        game.getItemUseMethods().setEasyMode(easyMode);
+        try {
+            game.loadGameObjects();
+        } catch (IOException err) {
+            throw new UncheckedIOException(err);
+        }
+        return game;
+    }
+
+    List<String> roomNames() {
+        return newGame().getRoomsList().stream().map(Room::getName).collect(Collectors.toList());
+    }
+
+    // ACCESSOR METHODS
+    public void setRuns(long runs) {
+        this.runs = runs;
+    }
+
+    public void setMaxSteps(int maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setStartingOxygen(double startingOxygen) {
+        this.startingOxygen = startingOxygen;
+    }
+
+    public void setOxygenPerMove(double oxygenPerMove) {
+        this.oxygenPerMove = oxygenPerMove;
+    }
+
+    public void setOxygenRefill(double oxygenRefill) {
+        this.oxygenRefill = oxygenRefill;
+    }
+
+    public void setEasyMode(boolean easyMode) {
+        this.easyMode = easyMode;
+    }
+
+    public void setAgents(Supplier<Agent> agents) {
+        this.agents = agents;
+    }
+}
@@ -0,0 +1,320 @@
+package com.lostinspace.sim;
+
+/*
+ * Solver Class |
+ * Explores every state the game can reach, breadth first, and finds the shortest winning command sequence
+ * along with every room and item the player can never reach.
+ * Commands are played on real headless games, borrowed by a worker for one state at a time, so the solver follows
+ * the same rules as a player. The games belong to the solver, not to the pool's threads, so they go when it does.
+ *
+ * A state is a PackedState (room, inventory, used, locked and revealed flags, moved items and oxygen),
+ * which is the same however the player got there, so picking up items in another order is the same state.
+ * States that differ only in oxygen are one state, kept again only when reached with more oxygen than before.
+ * Each level of the search is expanded in parallel on the fork/join pool, which steals work across cores,
+ * and new states are claimed in a concurrent visited map, which stops growing at the state limit. Ties are broken by the order commands were tried,
+ * so the same game always gets the same answer.
+ *
+ * usage: App --solve [--start-o2 X] [--o2-per-move X] [--refill X] [--easy] [--max-states N]
+ */
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.HiddenItem;
+import com.lostinspace.model.Item;
+import com.lostinspace.model.PackedState;
+import com.lostinspace.model.WorldTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class Solver {
+    public static final long DEFAULT_MAX_STATES = 2_000_000;  // states explored before the search gives up
+
+    private final Supplier<Controller> games;               // makes headless games set up like the one being solved
+    private final Queue<Controller> idle = new ConcurrentLinkedQueue<>(); // games made so far and not in use
+    private long maxStates = DEFAULT_MAX_STATES;
+    private boolean stopAtFirstWin;             // true to stop at the first winning level, as for a hint
+
+    // CTOR
+    public Solver(Supplier<Controller> games) {
+        this.games = games;
+    }
+
+    public static void main(String[] args) {
+        double startingOxygen = 80.00;
+        double oxygenPerMove = 2.00;
+        double oxygenRefill = 25.5;
+        boolean easyMode = false;
+        long maxStates = DEFAULT_MAX_STATES;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--start-o2":
+                    startingOxygen = Double.parseDouble(args[++i]);
+                    break;
+                case "--o2-per-move":
+                    oxygenPerMove = Double.parseDouble(args[++i]);
+                    break;
+                case "--refill":
+                    oxygenRefill = Double.parseDouble(args[++i]);
+                    break;
+                case "--easy":
+                    easyMode = true;
+                    break;
+                case "--max-states":
+                    maxStates = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown solver option: " + args[i]);
+            }
+        }
+
+        Simulator settings = new Simulator();
+        settings.setStartingOxygen(startingOxygen);
+        settings.setOxygenPerMove(oxygenPerMove);
+        settings.setOxygenRefill(oxygenRefill);
+        settings.setEasyMode(easyMode);
+
+        Solver solver = new Solver(settings::newGame);
+        solver.setMaxStates(maxStates);
+
+        long start = System.nanoTime();
+        Result result = solver.solve(settings.newGame());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        result.print(System.out);
+        System.out.printf("Explored %d states in %.2fs (%.0f per second)%n", result.getStates(), seconds, result.getStates() / seconds);
+    }
+
+    // explores the game from the state a session is in now
+    public Result solve(Controller from) {
+        Node root = new Node(PackedState.pack(from.getState(), from.getTemplate()), null, null, 0);
+        Map<PackedState, Node> seen = new ConcurrentHashMap<>();
+        seen.put(root.key, root);
+        Reach reach = new Reach();
+        reach.record(from);
+
+        Node win = from.isObjectiveComplete() ? root : null;
+        List<Node> frontier = win != null ? List.of() : List.of(root);
+        boolean complete = true;
+
+        while (!frontier.isEmpty()) {
+            // expand the whole level in parallel, keeping the children in the order they were tried
+            List<Node> level = frontier;
+            List<Node> children = IntStream.range(0, level.size())
+                    .parallel()
+                    .boxed()
+                    .flatMap(index -> expand(level.get(index), index, seen, reach))
+                    .collect(Collectors.toList());
+            boolean full = seen.size() >= maxStates;
+
+            // a state reached twice in one level keeps only its first, or best supplied, node
+            List<Node> next = new ArrayList<>();
+            for (Node child : children) {
+                if (seen.get(child.key) != child) continue;
+                if (child.won) {
+                    if (win == null) win = child;
+                } else {
+                    next.add(child);
+                }
+            }
+            if (full || win != null && stopAtFirstWin) {
+                complete = false;
+                break;
+            }
+            frontier = next;
+        }
+
+        return new Result(from, win, seen.size(), complete, reach);
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // plays every useful command from one state and returns the states that are new or reached with more oxygen
+    private Stream<Node> expand(Node node, int index, Map<PackedState, Node> seen, Reach reach) {
+        Controller game = idle.poll();
+        if (game == null) game = games.get();
+        List<String> options = new ArrayList<>();
+        restore(node, game);
+        RandomAgent.options(game, options);
+
+        List<Node> children = new ArrayList<>();
+        for (int option = 0; option < options.size(); option++) {
+            if (seen.size() >= maxStates) break;        // checked on every state, so a level never runs far past the limit
+            if (option > 0) restore(node, game);
+            try {
+                game.userCommands(options.get(option));
+            } catch (IOException err) {
+                throw new UncheckedIOException(err);
+            }
+            reach.record(game);
+
+            boolean won = game.isObjectiveComplete();
+            if (!won && game.getOxygenPerMove() > 0 && game.getPlayer().getOxygen() <= 0) continue;   // suffocated
+
+            Node child = new Node(PackedState.pack(game.getState(), game.getTemplate()), node, options.get(option), (long) index << 32 | option);
+            child.won = won;
+            if (claim(seen, child)) children.add(child);
+        }
+        idle.offer(game);
+        return children.stream();
+    }
+
+    /*
+     * records a state as reached, unless it has been reached before with as much oxygen
+     * within a level, equal oxygen goes to the node tried first, so the search doesn't depend on thread timing
+     */
+    private static boolean claim(Map<PackedState, Node> seen, Node child) {
+        Node kept = seen.merge(child.key, child, (old, node) -> {
+            if (node.oxygen > old.oxygen) return node;
+            if (node.oxygen == old.oxygen && node.depth == old.depth && node.order < old.order) return node;
+            return old;
+        });
+        return kept == child;
+    }
+
+    private static void restore(Node node, Controller game) {
+        node.state.unpack(game.getState(), game.getTemplate());
+    }
+
+    public void setMaxStates(long maxStates) {
+        this.maxStates = maxStates;
+    }
+
+    public void setStopAtFirstWin(boolean stopAtFirstWin) {
+        this.stopAtFirstWin = stopAtFirstWin;
+    }
+
+    // one reached state and the command that led to it
+    private static final class Node {
+        final PackedState state;
+        final PackedState key;                  // the state without oxygen, which the visited map compares
+        final double oxygen;
+        final Node parent;
+        final String command;                   // command played in the parent to get here
+        final int depth;
+        final long order;                       // parent's place in its level and the command's place in the parent
+        boolean won;
+
+        Node(PackedState state, Node parent, String command, long order) {
+            this.state = state;
+            this.key = state.withoutOxygen();
+            this.oxygen = state.getOxygen();
+            this.parent = parent;
+            this.command = command;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.order = order;
+        }
+
+        List<String> commands() {
+            List<String> commands = new ArrayList<>();
+            for (Node node = this; node.parent != null; node = node.parent) {
+                commands.add(node.command);
+            }
+            Collections.reverse(commands);
+            return commands;
+        }
+    }
+
+    // rooms entered, items held and objects seen anywhere in the search
+    private static final class Reach {
+        final Set<Integer> rooms = ConcurrentHashMap.newKeySet();
+        final Set<Integer> held = ConcurrentHashMap.newKeySet();
+        final Set<Integer> seen = ConcurrentHashMap.newKeySet();
+
+        void record(Controller game) {
+            int room = game.getPlayer().getRoom().getId();
+            rooms.add(room);
+            for (Item item : game.getInventory()) held.add(item.getId());
+            for (Item item : game.getItemsInRoom().get(room)) seen.add(item.getId());
+            for (Item item : game.getInteractablesInRoom().get(room)) seen.add(item.getId());
+        }
+    }
+
+    /*
+     * Solver Result Class |
+     * What a search found: the shortest win, if there is one, and what it never reached.
+     */
+    public static class Result {
+        private final List<String> winningCommands;     // null when no win was found
+        private final double oxygenAtWin;
+        private final long states;
+        private final boolean complete;                 // false when the search stopped before exploring every state, at a limit or a win
+        private final List<String> unreachableRooms = new ArrayList<>();
+        private final List<String> unreachableItems = new ArrayList<>();
+
+        Result(Controller game, Node win, long states, boolean complete, Reach reach) {
+            this.winningCommands = win == null ? null : win.commands();
+            this.oxygenAtWin = win == null ? 0 : win.oxygen;
+            this.states = states;
+            this.complete = complete;
+
+            WorldTemplate template = game.getTemplate();
+            for (int id = 0; id < template.getMap().getRoomCount(); id++) {
+                if (!reach.rooms.contains(id)) unreachableRooms.add(template.getMap().getRoomName(id));
+            }
+            for (Item item : template.getItems()) {
+                if (!reach.held.contains(item.getId())) unreachableItems.add(item.getName());
+            }
+            for (HiddenItem item : template.getHiddenItems()) {
+                if (!reach.held.contains(item.getId()) && !reach.seen.contains(item.getId())) unreachableItems.add(item.getName());
+            }
+            for (Item item : template.getInteractables()) {
+                if (!reach.seen.contains(item.getId())) unreachableItems.add(item.getName());
+            }
+        }
+
+        public void print(PrintStream out) {
+            if (winningCommands == null) {
+                out.println(complete ? "The game can't be won." : "No win found before the search limit.");
+            } else {
+                out.printf("Shortest win: %d commands, %.2f oxygen left%n", winningCommands.size(), oxygenAtWin);
+                winningCommands.forEach(command -> out.println("  " + command));
+            }
+            if (complete) {
+                out.println("Unreachable rooms: " + (unreachableRooms.isEmpty() ? "none" : String.join(", ", unreachableRooms)));
+                out.println("Unreachable items: " + (unreachableItems.isEmpty() ? "none" : String.join(", ", unreachableItems)));
+            }
+        }
+
+        // ACCESSOR METHODS
+        public boolean isWinnable() {
+            return winningCommands != null;
+        }
+
+        public List<String> getWinningCommands() {
+            return winningCommands;
+        }
+
+        public double getOxygenAtWin() {
+            return oxygenAtWin;
+        }
+
+        public long getStates() {
+            return states;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public List<String> getUnreachableRooms() {
+            return unreachableRooms;
+        }
+
+        public List<String> getUnreachableItems() {
+            return unreachableItems;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.lostinspace.sim;
+
+/*
+ * Startup Benchmark Class |
+ * Measures cold start of the shaded jar, in fresh JVMs, in each startup mode:
+ * plain, with the warm-up pass, with the AppCDS archive, and with both.
+ * For every run it times process start to the first prompt, then one command to the prompt after it.
+ *
+ * usage: App --startup-benchmark [--runs N] [--jar FILE] [--archive FILE]
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class StartupBenchmark {
+    private static final byte[] PROMPT = "Enter a Command".getBytes(StandardCharsets.UTF_8);
+    private static final String FIRST_COMMAND = "go south\n";
+
+    private int runs = 10;                      // cold starts per mode
+    private Path jar;                           // shaded game jar to start
+    private Path archive;                       // AppCDS archive built by the cds profile
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StartupBenchmark benchmark = new StartupBenchmark();
+        benchmark.jar = runningJar();
+        benchmark.archive = benchmark.jar.resolveSibling("lost-in-space.jsa");
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs":
+                    benchmark.runs = Integer.parseInt(args[++i]);
+                    break;
+                case "--jar":
+                    benchmark.jar = Path.of(args[++i]);
+                    break;
+                case "--archive":
+                    benchmark.archive = Path.of(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown benchmark option: " + args[i]);
+            }
+        }
+
+        System.out.printf("%-12s %20s %20s%n", "mode", "first prompt (ms)", "first command (ms)");
+        benchmark.measure("plain", List.of());
+        benchmark.measure("warmup", List.of(), "--warmup");
+        if (Files.exists(benchmark.archive)) {
+            String cds = "-XX:SharedArchiveFile=" + benchmark.archive;
+            benchmark.measure("cds", List.of(cds));
+            benchmark.measure("cds+warmup", List.of(cds), "--warmup");
+        } else {
+            System.out.println("(no AppCDS archive at " + benchmark.archive + ", build it with: mvn -Pcds package)");
+        }
+    }
+
+    // starts the game 'runs' times with the given JVM options and game arguments, and prints the medians
+    void measure(String mode, List<String> jvmOptions, String... gameArgs) throws IOException, InterruptedException {
+        long[] toPrompt = new long[runs];
+        long[] toAnswer = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            List<String> command = new ArrayList<>();
+            command.add(ProcessHandle.current().info().command().orElse("java"));
+            command.addAll(jvmOptions);
+            command.add("-jar");
+            command.add(jar.toString());
+            command.addAll(Arrays.asList(gameArgs));
+
+            long start = System.nanoTime();
+            Process game = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            try {
+                InputStream out = game.getInputStream();
+                awaitPrompt(out);
+                toPrompt[run] = System.nanoTime() - start;
+
+                OutputStream in = game.getOutputStream();
+                long sent = System.nanoTime();
+                in.write(FIRST_COMMAND.getBytes(StandardCharsets.UTF_8));
+                in.flush();
+                awaitPrompt(out);
+                toAnswer[run] = System.nanoTime() - sent;
+            } finally {
+                game.destroy();
+                game.waitFor();
+            }
+        }
+        System.out.printf("%-12s %20.1f %20.2f%n", mode, median(toPrompt) / 1e6, median(toAnswer) / 1e6);
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // reads the game's output until the next prompt, failing if the game exits first
+    private static void awaitPrompt(InputStream out) throws IOException {
+        int matched = 0;
+        int b;
+        while ((b = out.read()) >= 0) {
+            matched = b == PROMPT[matched] ? matched + 1 : (b == PROMPT[0] ? 1 : 0);
+            if (matched == PROMPT.length) return;
+        }
+        throw new IOException("Game exited before showing a prompt");
+    }
+
+    private static long median(long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    // the jar this class was loaded from, which is the game jar when run through App
+    private static Path runningJar() {
+        try {
+            return Path.of(StartupBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException err) {
+            throw new IllegalStateException(err);
+        }
+    }
+}
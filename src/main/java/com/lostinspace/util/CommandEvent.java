@@ -0,0 +1,53 @@
+package com.lostinspace.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Command Event Class |
+ * Flight Recorder event for one command a player entered, from tokenizing to the last line it printed.
+ * Its duration covers the whole command, terminal writes included; the item use and terminal write
+ * events recorded inside it show where that time went.
+ */
+@Name("com.lostinspace.Command")
+@Label("Command")
+@Category({"Lost in Space", "Commands"})
+@Description("A command entered by a player")
+@StackTrace(false)
+public class CommandEvent extends jdk.jfr.Event {
+    @Label("Verb")
+    String verb;            // first word, as typed
+
+    @Label("Noun")
+    String noun;            // second word, as typed, if there was one
+
+    @Label("Family")
+    String family;          // metrics family of the verb, or "invalid" when it wasn't a command
+
+    @Label("Room")
+    String room;            // room the player was in when the command was entered
+
+    // fills in the command and commits it; call only when shouldCommit() is true, so nothing is built otherwise
+    public void commit(String verb, String noun, String family, String room) {
+        this.verb = verb;
+        this.noun = noun;
+        this.family = family;
+        this.room = room;
+        commit();
+    }
+
+    // true while a recording wants these events; checked before one is allocated, so nothing is built otherwise
+    public static boolean isRecording() {
+        return FlightRecorder.isInitialized() && Type.TYPE.isEnabled();
+    }
+
+    // looked up on first use, so a game that never records never starts Flight Recorder
+    private static class Type {
+        static final EventType TYPE = EventType.getEventType(CommandEvent.class);
+    }
+}
@@ -0,0 +1,217 @@
+package com.lostinspace.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Command Journal Class |
+ * Append-only log of the commands one session accepted, with periodic checkpoints of its state.
+ * Records are buffered and written in groups, so a command costs a memory copy and only every
+ * few commands cost a write and an fsync. A crash loses at most the commands of the unwritten group.
+ *
+ * Layout: int magic "LISJ", short version, then records of
+ *   byte type (COMMAND or CHECKPOINT), int payload length, payload
+ * where a command's payload is its UTF-8 text and a checkpoint's payload is a byte of session flags
+ * (such as easy mode) followed by a SaveGame.
+ * A record cut short by a crash is ignored when the journal is read back.
+ */
+public class CommandJournal implements Closeable {
+    public static final int MAGIC = 0x4C49534A;         // "LISJ"
+    public static final short VERSION = 2;              // bump when the layout changes
+    public static final byte COMMAND = 1;               // record holding one command line
+    public static final byte CHECKPOINT = 2;            // record holding a whole session state
+    public static final int DEFAULT_GROUP_SIZE = 8;             // commands buffered before a write
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 256;  // commands between checkpoints
+
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    private static final int RECORD_HEADER_SIZE = 1 + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final ByteBuffer pending = ByteBuffer.allocate(8 * 1024); // records not yet written
+    private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)        // a lone surrogate in a line is journaled as '?'
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final int groupSize;                        // records buffered before they are written together
+    private final int checkpointInterval;               // commands between checkpoints
+    private int pendingRecords;                         // records in the pending buffer
+    private int commandsSinceCheckpoint;                // commands written since the last checkpoint
+
+    // CTOR opens a journal for appending, creating it if needed
+    public CommandJournal(Path file, int groupSize, int checkpointInterval) throws IOException {
+        this.groupSize = groupSize;
+        this.checkpointInterval = checkpointInterval;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+
+        if (channel.size() == 0) {
+            pending.putInt(MAGIC).putShort(VERSION);
+        } else {
+            checkHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_SIZE)), file);
+        }
+        channel.position(validLength());            // drop any record a crash cut short
+        channel.truncate(channel.position());
+    }
+
+    public CommandJournal(Path file) throws IOException {
+        this(file, DEFAULT_GROUP_SIZE, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    // appends a command line, writing the group once it is full; a line too long for the buffer is written straight through
+    public void command(CharSequence line) throws IOException {
+        int maxRecord = RECORD_HEADER_SIZE + line.length() * 3;     // UTF-8 never takes more than 3 bytes a char
+        if (pending.remaining() < maxRecord) {
+            flush();
+        }
+        if (pending.remaining() < maxRecord) {
+            ByteBuffer record = ByteBuffer.allocate(maxRecord);
+            putCommand(line, record);
+            write(record.flip());
+            channel.force(false);
+        } else {
+            putCommand(line, pending);
+            if (++pendingRecords >= groupSize) {
+                flush();
+            }
+        }
+        commandsSinceCheckpoint++;
+    }
+
+    // true once enough commands have been written that a checkpoint should follow
+    public boolean isCheckpointDue() {
+        return commandsSinceCheckpoint >= checkpointInterval;
+    }
+
+    // appends the remaining bytes of an encoded session state and writes everything pending
+    public void checkpoint(ByteBuffer state) throws IOException {
+        if (pending.remaining() < RECORD_HEADER_SIZE + state.remaining()) {
+            flush();
+        }
+        if (pending.remaining() < RECORD_HEADER_SIZE + state.remaining()) {
+            // a state bigger than the buffer, as on a large world, is written straight through
+            write(ByteBuffer.allocate(RECORD_HEADER_SIZE).put(CHECKPOINT).putInt(state.remaining()).flip());
+            write(state);
+            channel.force(false);
+        } else {
+            pending.put(CHECKPOINT).putInt(state.remaining()).put(state);
+            flush();
+        }
+        commandsSinceCheckpoint = 0;
+    }
+
+    // writes every pending record and forces it to disk
+    public void flush() throws IOException {
+        if (pending.position() == 0) return;
+        write(pending.flip());
+        channel.force(false);
+        pending.clear();
+        pendingRecords = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    //-------------------------------REPLAY
+
+    // receives the records of a journal as it is replayed
+    public interface Listener {
+        void checkpoint(ByteBuffer state) throws IOException;
+
+        void command(String line) throws IOException;
+    }
+
+    /*
+     * reads a journal back: the last checkpoint, then every command after it, in order
+     * returns the number of commands replayed
+     */
+    public static int replay(Path file, Listener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() == 0) return 0;
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            checkHeader(buf, file);
+
+            // find where the last checkpoint starts, so older commands never have to run
+            int start = buf.position();
+            for (int at = start; (at = nextRecord(buf, at)) >= 0; ) {
+                if (buf.get(at) == CHECKPOINT) start = at;
+                at += RECORD_HEADER_SIZE + buf.getInt(at + 1);
+            }
+
+            int commands = 0;
+            for (int at = start; (at = nextRecord(buf, at)) >= 0; ) {
+                ByteBuffer payload = buf.duplicate().position(at + RECORD_HEADER_SIZE).limit(at + RECORD_HEADER_SIZE + buf.getInt(at + 1));
+                if (buf.get(at) == CHECKPOINT) {
+                    listener.checkpoint(payload);
+                } else {
+                    listener.command(StandardCharsets.UTF_8.decode(payload).toString());
+                    commands++;
+                }
+                at += RECORD_HEADER_SIZE + buf.getInt(at + 1);
+            }
+            return commands;
+        }
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // puts one command record into a buffer with room for it; characters UTF-8 can't hold are replaced
+    private void putCommand(CharSequence line, ByteBuffer buf) {
+        int start = buf.position();
+        buf.put(COMMAND).putInt(0);                     // length is filled in once the text is encoded
+        utf8.reset();
+        utf8.encode(CharBuffer.wrap(line), buf, true);
+        utf8.flush(buf);
+        buf.putInt(start + 1, buf.position() - start - RECORD_HEADER_SIZE);
+    }
+
+    private void write(ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    private static void checkHeader(ByteBuffer buf, Path file) throws IOException {
+        if (buf.remaining() < HEADER_SIZE || buf.getInt() != MAGIC) {
+            throw new IOException(file + " is not a Lost in Space journal");
+        }
+        short version = buf.getShort();
+        if (version != VERSION) {
+            throw new IOException(file + " has unsupported journal version " + version);
+        }
+    }
+
+    // returns the offset of the record at 'at' if the whole record is there, or -1 at the end or a cut-short record
+    private static int nextRecord(ByteBuffer buf, int at) {
+        if (buf.limit() - at < RECORD_HEADER_SIZE) return -1;
+        byte type = buf.get(at);
+        int length = buf.getInt(at + 1);
+        if ((type != COMMAND && type != CHECKPOINT) || length < 0 || buf.limit() - at - RECORD_HEADER_SIZE < length) {
+            return -1;
+        }
+        return at;
+    }
+
+    // returns the length of the journal up to the end of its last whole record
+    private long validLength() throws IOException {
+        if (channel.size() == 0) return 0;
+        ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        int at = HEADER_SIZE;
+        while (nextRecord(buf, at) >= 0) {
+            at += RECORD_HEADER_SIZE + buf.getInt(at + 1);
+        }
+        return at;
+    }
+}
@@ -0,0 +1,20 @@
+package com.lostinspace.util;
+
+/*
+ * Command Latency MXBean Interface |
+ * What JMX shows for one family of commands: how many ran and how long they took.
+ * Registered as com.lostinspace:type=CommandLatency,family=<family>.
+ */
+public interface CommandLatencyMXBean {
+    long getCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getMaxMicros();
+}
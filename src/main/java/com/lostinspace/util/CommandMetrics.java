@@ -0,0 +1,168 @@
+package com.lostinspace.util;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Command Metrics Class |
+ * How long commands take, by family of verb, and how often some things happen, for every session in the JVM.
+ * Always on: recording is a few striped adds into preallocated histograms and LongAdder counters,
+ * with no locks, no allocation and little write sharing between sessions.
+ *
+ * shared() is the registry of real players' sessions, exported over JMX on first use.
+ * offline() is a second registry, never exported, for headless games such as warm-up and simulation,
+ * so they don't skew what production reports.
+ */
+public class CommandMetrics implements CommandMetricsMXBean {
+    public static final String DOMAIN = "com.lostinspace";   // JMX domain of every game MBean
+
+    // families of verbs timed together
+    public enum Family {
+        MOVE, INSPECT, GET, DROP, USE, INFO, GAME;      // INFO is help and objectives, GAME is save, load, quit and the like
+
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<Family, LatencyHistogram> latencies = new EnumMap<>(Family.class);
+    private final LongAdder invalidCommands = new LongAdder();
+    private final LongAdder lockedDoorHits = new LongAdder();
+    private final LongAdder itemUses = new LongAdder();
+
+    // CTOR
+    private CommandMetrics() {
+        for (Family family : Family.values()) {
+            latencies.put(family, new LatencyHistogram());
+        }
+    }
+
+    // returns the registry of player sessions, exporting it over JMX on first use
+    public static CommandMetrics shared() {
+        return Holder.SHARED;
+    }
+
+    // returns the registry of headless games, which is never exported
+    public static CommandMetrics offline() {
+        return OfflineHolder.OFFLINE;
+    }
+
+    // records how long a command of a family took
+    public void record(Family family, long nanos) {
+        latencies.get(family).record(nanos);
+    }
+
+    public void invalidCommand() {
+        invalidCommands.increment();
+    }
+
+    // counts a try to go through a locked door or to use a locked interactable
+    public void lockedDoorHit() {
+        lockedDoorHits.increment();
+    }
+
+    public void itemUse() {
+        itemUses.increment();
+    }
+
+    // writes every family's latencies and every counter as a table
+    public void dump(PrintWriter out) {
+        out.printf("%-10s %10s %12s %12s %12s %12s %12s%n", "family", "count", "mean (us)", "p50 (us)", "p90 (us)", "p99 (us)", "max (us)");
+        latencies.forEach((family, latency) -> out.printf("%-10s %10d %12.1f %12.1f %12.1f %12.1f %12.1f%n",
+                family.label(), latency.getCount(), latency.getMeanMicros(), latency.getP50Micros(),
+                latency.getP90Micros(), latency.getP99Micros(), latency.getMaxMicros()));
+        out.printf("invalid commands: %d%n", getInvalidCommands());
+        out.printf("locked door hits: %d%n", getLockedDoorHits());
+        out.printf("item uses:        %d%n", getItemUses());
+        out.flush();
+    }
+
+    // writes the text dump to a file when the JVM exits, replacing what the file held
+    public void dumpOnExit(Path file) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+                dump(out);
+            } catch (IOException err) {
+                System.err.println("Could not write command metrics to " + file + ": " + err.getMessage());
+            }
+        }, "metrics-dump"));
+    }
+
+    @Override
+    public String dump() {
+        StringWriter text = new StringWriter();
+        dump(new PrintWriter(text));
+        return text.toString();
+    }
+
+    // ACCESSOR METHODS
+    public LatencyHistogram getLatency(Family family) {
+        return latencies.get(family);
+    }
+
+    @Override
+    public long getInvalidCommands() {
+        return invalidCommands.sum();
+    }
+
+    @Override
+    public long getLockedDoorHits() {
+        return lockedDoorHits.sum();
+    }
+
+    @Override
+    public long getItemUses() {
+        return itemUses.sum();
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // registers the registry and each family's histogram with the platform MBean server
+    private void export() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            register(server, this, new ObjectName(DOMAIN + ":type=CommandMetrics"));
+            for (Map.Entry<Family, LatencyHistogram> latency : latencies.entrySet()) {
+                register(server, latency.getValue(),
+                        new ObjectName(DOMAIN + ":type=CommandLatency,family=" + latency.getKey().label()));
+            }
+        } catch (JMException err) {
+            System.err.println("Command metrics are not available over JMX: " + err.getMessage());
+        }
+    }
+
+    private static void register(MBeanServer server, Object bean, ObjectName name) throws JMException {
+        try {
+            server.registerMBean(bean, name);
+        } catch (InstanceAlreadyExistsException err) {
+            // another copy of the game classes in this JVM exported first, keep theirs
+        }
+    }
+
+    // each loads on first use, which the JVM makes thread safe, so a headless JVM never touches JMX
+    private static class Holder {
+        static final CommandMetrics SHARED = exported();
+
+        private static CommandMetrics exported() {
+            CommandMetrics metrics = new CommandMetrics();
+            metrics.export();
+            return metrics;
+        }
+    }
+
+    private static class OfflineHolder {
+        static final CommandMetrics OFFLINE = new CommandMetrics();
+    }
+}
@@ -0,0 +1,17 @@
+package com.lostinspace.util;
+
+/*
+ * Command Metrics MXBean Interface |
+ * What JMX shows for the game as a whole: command counters, and the full text dump.
+ * Registered as com.lostinspace:type=CommandMetrics.
+ */
+public interface CommandMetricsMXBean {
+    long getInvalidCommands();
+
+    long getLockedDoorHits();
+
+    long getItemUses();
+
+    // every family's latencies and every counter, as the text dump prints them
+    String dump();
+}
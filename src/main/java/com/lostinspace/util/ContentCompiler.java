@@ -0,0 +1,68 @@
+package com.lostinspace.util;
+
+/*
+ * Content Compiler Class |
+ * Build step that validates the game's JSON resources and compiles them into the binary world snapshot.
+ * Run by Maven after the classes are compiled, so a content mistake fails the build instead of a game.
+ * Content that can't be won, with the oxygen settings a new game starts with, fails it too.
+ *
+ * usage: ContentCompiler OUTPUT_DIR
+ */
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.WorldSnapshot;
+import com.lostinspace.model.WorldTemplate;
+import com.lostinspace.sim.Solver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ContentCompiler {
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(args.length > 0 ? args[0] : "target/classes").resolve(WorldSnapshot.RESOURCE);
+
+        // parse the JSON and build a template from it: exits, item rooms, containers and item-use methods are all checked
+        WorldSnapshot world = Controller.headless().loadWorldFromJson();
+        WorldTemplate template = Controller.newTemplate(world);
+
+        Files.createDirectories(output.getParent());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            world.write(out);
+        }
+
+        // read it back the way the game will, so a snapshot that can't be loaded never ships
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(output))) {
+            Controller.newTemplate(WorldSnapshot.read(in));
+        }
+
+        // play the shortest win on the content just compiled
+        Solver solver = new Solver(() -> winnabilityGame(template));
+        solver.setStopAtFirstWin(true);
+        Controller start = winnabilityGame(template);
+        Solver.Result result = solver.solve(start);
+        if (!result.isWinnable()) {
+            throw new IllegalStateException(result.isComplete()
+                    ? "The game can't be won within the starting oxygen at " + start.getOxygenPerMove() + " per move"
+                    : "No win found within " + Solver.DEFAULT_MAX_STATES + " states");
+        }
+        System.out.printf("Winnable in %d commands with %.2f oxygen left at %.2f per move (%d states searched)%n",
+                result.getWinningCommands().size(), result.getOxygenAtWin(), start.getOxygenPerMove(), result.getStates());
+
+        System.out.printf("Compiled %d rooms, %d items, %d hidden items and %d interactables into %s (%d bytes)%n",
+                template.getMap().getRoomCount(), template.getItems().size(), template.getHiddenItems().size(),
+                template.getInteractables().size(), output, Files.size(output));
+    }
+
+    // a headless game on the given content, with the oxygen settings every new game gets
+    private static Controller winnabilityGame(WorldTemplate template) {
+        Controller game = Controller.headless();
+        game.setBatchMode(true);
+        game.loadGameObjects(template);
+        return game;
+    }
+}
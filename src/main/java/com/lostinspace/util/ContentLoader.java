@@ -0,0 +1,331 @@
+package com.lostinspace.util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import com.lostinspace.model.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/*
+ * Content Loader Class |
+ * Reads the five JSON content files at once, each on its own thread, with a streaming JsonReader.
+ * Every object is built straight into the model as its fields are read, with no reflective binding
+ * and no intermediate document.
+ *
+ * usedDescription is only shown after an item is used, so it is skipped while loading;
+ * the first time one is asked for, every usedDescription of that file is read back in a single pass.
+ */
+public class ContentLoader {
+    public static final String ROOMS = "shiprooms.json";
+    public static final String ITEMS = "items.json";
+    public static final String HIDDEN_ITEMS = "hiddenitems.json";
+    public static final String INTERACTABLES = "interactables.json";
+    public static final String ITEM_USES = "itemuses.json";
+
+    private final FileGetter filegetter;        // opens the content resources
+
+    // CTOR
+    public ContentLoader(FileGetter filegetter) {
+        this.filegetter = filegetter;
+    }
+
+    // loads every content file concurrently and returns the world they describe
+    public WorldSnapshot load() {
+        CompletableFuture<RoomsRoot> map = CompletableFuture.supplyAsync(() -> parse(ROOMS, this::readRooms));
+        CompletableFuture<List<Item>> items = CompletableFuture.supplyAsync(() -> parse(ITEMS, in -> readItems(in, ITEMS, "items")));
+        CompletableFuture<List<HiddenItem>> hiddenItems = CompletableFuture.supplyAsync(() -> parse(HIDDEN_ITEMS, this::readHiddenItems));
+        CompletableFuture<List<Item>> interactables = CompletableFuture.supplyAsync(() -> parse(INTERACTABLES, in -> readItems(in, INTERACTABLES, "interactables")));
+        CompletableFuture<Map<String, Map<String, String>>> itemUses = CompletableFuture.supplyAsync(() -> parse(ITEM_USES, this::readItemUses));
+
+        try {
+            return new WorldSnapshot(map.join(), items.join(), hiddenItems.join(), interactables.join(), itemUses.join());
+        } catch (CompletionException err) {
+            if (err.getCause() instanceof RuntimeException) throw (RuntimeException) err.getCause();
+            throw err;
+        }
+    }
+
+    //-------------------------------READERS
+
+    // {"rooms": [{"name", "description", "exits": {"north", "south", "east", "west"}}]}
+    private RoomsRoot readRooms(JsonReader in) throws IOException {
+        RoomsRoot map = new RoomsRoot();
+        map.rooms = new ArrayList<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!in.nextName().equals("rooms")) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                map.rooms.add(readRoom(in));
+            }
+            in.endArray();
+        }
+        in.endObject();
+        map.createMap();
+        return map;
+    }
+
+    private Room readRoom(JsonReader in) throws IOException {
+        Room room = new Room();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    room.name = nextString(in);
+                    break;
+                case "description":
+                    room.description = nextString(in);
+                    break;
+                case "exits":
+                    String[] exits = {"", "", "", ""};
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        int direction = Exit.directionIndex(in.nextName());
+                        if (direction < 0) {
+                            in.skipValue();
+                        } else {
+                            exits[direction] = nextString(in);
+                        }
+                    }
+                    in.endObject();
+                    room.exits = new Exit(exits[Exit.NORTH], exits[Exit.SOUTH], exits[Exit.EAST], exits[Exit.WEST]);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return room;
+    }
+
+    // {"<arrayName>": [{"name", "synonyms", "room", "fullName", "description", "used", "usedDescription"}]}
+    private List<Item> readItems(JsonReader in, String resource, String arrayName) throws IOException {
+        return readArray(in, new UsedDescriptions(resource, arrayName), (fields, usedDescription) -> {
+            Item item = new Item(fields.name, fields.synonyms, fields.room, fields.fullName, fields.description, fields.used, null);
+            item.setUsedDescriptionLoader(usedDescription);
+            return item;
+        });
+    }
+
+    // {"hiddenItems": [{"name", "synonyms", "inside", "hidden", "fullName", "description", "used", "usedDescription"}]}
+    private List<HiddenItem> readHiddenItems(JsonReader in) throws IOException {
+        return readArray(in, new UsedDescriptions(HIDDEN_ITEMS, "hiddenItems"), (fields, usedDescription) -> {
+            HiddenItem hiddenItem = new HiddenItem(fields.name, fields.synonyms, fields.inside, fields.hidden,
+                    fields.fullName, fields.description, fields.used, null);
+            hiddenItem.setUsedDescriptionLoader(usedDescription);
+            return hiddenItem;
+        });
+    }
+
+    // {"itemUseMap": {"<item>": {"useDescription", "method"}}}
+    private Map<String, Map<String, String>> readItemUses(JsonReader in) throws IOException {
+        Map<String, Map<String, String>> itemUses = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!in.nextName().equals("itemUseMap")) {
+                in.skipValue();
+                continue;
+            }
+            in.beginObject();
+            while (in.hasNext()) {
+                String item = in.nextName();
+                Map<String, String> use = new LinkedHashMap<>();
+                in.beginObject();
+                while (in.hasNext()) {
+                    use.put(in.nextName(), nextString(in));
+                }
+                in.endObject();
+                itemUses.put(item, use);
+            }
+            in.endObject();
+        }
+        in.endObject();
+        return itemUses;
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // the fields shared by items, hidden items and interactables, one object's worth, reused for every object of an array
+    private static class Fields {
+        String name;
+        List<String> synonyms;
+        List<String> room;
+        List<String> inside;
+        boolean hidden;
+        String fullName;
+        String description;
+        boolean used;
+        boolean hasUsedDescription;
+
+        void clear() {
+            name = null;
+            synonyms = room = inside = List.of();
+            hidden = used = hasUsedDescription = false;
+            fullName = description = null;
+        }
+    }
+
+    // builds one model object from the fields of one array entry
+    private interface Builder<T> {
+        T build(Fields fields, Supplier<String> usedDescription);
+    }
+
+    /*
+     * reads every object of a top-level array, building each one as soon as its fields are read
+     * each usedDescription is skipped, and read with the rest of its array the first time any of them is asked for
+     */
+    private <T> List<T> readArray(JsonReader in, UsedDescriptions usedDescriptions, Builder<T> builder) throws IOException {
+        List<T> objects = new ArrayList<>();
+        Fields fields = new Fields();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!in.nextName().equals(usedDescriptions.arrayName)) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                fields.clear();
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "name":
+                            fields.name = nextString(in);
+                            break;
+                        case "synonyms":
+                            fields.synonyms = readStrings(in);
+                            break;
+                        case "room":
+                            fields.room = readStrings(in);
+                            break;
+                        case "inside":
+                            fields.inside = readStrings(in);
+                            break;
+                        case "hidden":
+                            fields.hidden = in.nextBoolean();
+                            break;
+                        case "fullName":
+                            fields.fullName = nextString(in);
+                            break;
+                        case "description":
+                            fields.description = nextString(in);
+                            break;
+                        case "used":
+                            fields.used = in.nextBoolean();
+                            break;
+                        case "usedDescription":
+                            in.skipValue();                 // read on first use instead
+                            fields.hasUsedDescription = true;
+                            break;
+                        default:
+                            in.skipValue();
+                    }
+                }
+                in.endObject();
+                int index = objects.size();
+                objects.add(builder.build(fields, fields.hasUsedDescription ? () -> usedDescriptions.get(index) : null));
+            }
+            in.endArray();
+        }
+        in.endObject();
+        return objects;
+    }
+
+    /*
+     * the usedDescriptions of one content array, read in one pass over its file the first time any is asked for,
+     * so the file is read again once in all rather than once for every object
+     */
+    private final class UsedDescriptions {
+        final String resource;
+        final String arrayName;
+        private volatile List<String> loaded;           // usedDescription by index in the array, null until read
+
+        UsedDescriptions(String resource, String arrayName) {
+            this.resource = resource;
+            this.arrayName = arrayName;
+        }
+
+        String get(int index) {
+            List<String> all = loaded;
+            if (all == null) {
+                synchronized (this) {
+                    if (loaded == null) loaded = parse(resource, this::readAll);
+                    all = loaded;
+                }
+            }
+            return index < all.size() ? all.get(index) : null;
+        }
+
+        private List<String> readAll(JsonReader in) throws IOException {
+            List<String> all = new ArrayList<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!in.nextName().equals(arrayName)) {
+                    in.skipValue();
+                    continue;
+                }
+                in.beginArray();
+                while (in.hasNext()) {
+                    String usedDescription = null;
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        if (in.nextName().equals("usedDescription")) {
+                            usedDescription = nextString(in);
+                        } else {
+                            in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                    all.add(usedDescription);
+                }
+                in.endArray();
+            }
+            in.endObject();
+            return all;
+        }
+    }
+
+    private static List<String> readStrings(JsonReader in) throws IOException {
+        List<String> strings = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            strings.add(in.nextString());
+        }
+        in.endArray();
+        return List.copyOf(strings);
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    // what to build from one content file
+    private interface Parser<T> {
+        T parse(JsonReader in) throws IOException;
+    }
+
+    // opens a content file and parses it, naming the file in any error
+    private <T> T parse(String resource, Parser<T> parser) {
+        try (Reader reader = filegetter.getResource(resource); JsonReader in = new JsonReader(reader)) {
+            return parser.parse(in);
+        } catch (IOException | IllegalStateException err) {
+            throw new IllegalStateException("Could not read " + resource + ": " + err.getMessage(), err);
+        }
+    }
+}
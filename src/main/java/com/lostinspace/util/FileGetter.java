@@ -3,6 +3,10 @@ package com.lostinspace.util;
 
 import java.lang.*;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 public class FileGetter {
     public Reader getResource(String rsc) {
@@ -10,4 +14,23 @@ public class FileGetter {
         // gets a resource and returns it as an InputStreamReader
         return new InputStreamReader(getClass().getClassLoader().getResourceAsStream(rsc));
     }
-}
\ No newline at end of file
+
+    // returns a resource as a byte stream, or null if there is no such resource
+    public InputStream getResourceStream(String rsc) {
+        return getClass().getClassLoader().getResourceAsStream(rsc);
+    }
+
+    // reads a whole file through a FileChannel into the buffer, which is cleared first and flipped for reading
+    public ByteBuffer read(Path file, ByteBuffer into) throws IOException {
+        into.clear();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > into.capacity()) {
+                throw new IOException(file + " is too large (" + channel.size() + " bytes)");
+            }
+            while (into.hasRemaining() && channel.read(into) >= 0) {
+                // keep reading until the file is exhausted
+            }
+        }
+        return into.flip();
+    }
+}
@@ -1,35 +1,33 @@
 package com.lostinspace.util;
 
-import com.google.gson.Gson;
-import com.lostinspace.model.Inventory;
-import com.lostinspace.model.RoomsRoot;
-
-
-import java.io.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 public class FileSetter {
-    static Gson gson = new Gson();
-    static FileGetter filegetter = new FileGetter();
 
-    public  void saveToFile(String data) {
-        OutputStream os = null;
+    /*
+     * writes the remaining bytes of the buffer to a file through a FileChannel
+     * the bytes go to a temporary file that then replaces the old one, so a crash never leaves half a file behind
+     */
+    public void save(Path file, ByteBuffer data) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName() + ".", ".tmp"); // unique, so two saves never share one
+
         try {
-            Path source = Paths.get(getClass().getResource("/inventory.json").getPath());
-            os = new FileOutputStream(String.valueOf(source));
-            os.write(data.getBytes(), 0, data.length());
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            try {
-                os.close();
-                Reader json = filegetter.getResource("inventory.json");
-                Inventory retText = gson.fromJson(json, Inventory.class);                 // Convert JSON File to Java Object
-                System.out.println("RESULT: " + retText);
-            } catch (IOException e) {
-                e.printStackTrace();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
             }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);                 // only still there if the write or move failed
         }
     }
 }
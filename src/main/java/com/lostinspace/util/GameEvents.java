@@ -1,46 +1,77 @@
 package com.lostinspace.util;
 
-import com.lostinspace.app.App;
-import com.lostinspace.controller.Controller;
-
-import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 
+/*
+ * Game Events Class |
+ * Handles the pauses between screens for one game session.
+ * A pause is a state of the session, not a blocking read: it is shown, the command that caused it returns,
+ * and the next line the player enters ends it. Nothing waits here, so a session can be driven by any input loop.
+ */
 public class GameEvents {
-    EventThread evThread = new EventThread();   // instance of EventThread logic.
-    Thread th = new Thread(evThread);           // create Thread and attach EventThread obj logic
-
-    public void enterForNewGame() throws IOException {
-
-        System.out.println("\n\n- Press ENTER to Start a New Game -"); // Tell user how to continue
-        System.in.read();                                      // listen for keyboard input
-        evThread.proceed = true;       // get out of the evThread loop
-        Controller.clearConsole();     // clear the console
-    }
-
-    public void enterToContinue() throws IOException {
-        System.out.println("\n\n--- Press ENTER ---"); // Tell user how to continue
-        System.in.read();                                      // listen for keyboard input
-        evThread.proceed = true;       // get out of the evThread loop
-        Controller.clearConsole();     // clear the console
-    }
-
-    class EventThread extends Thread{
-        public boolean proceed = false;    // breaks the while loop
-
-        /*
-         * loop continues until user presses Enter
-         * this continues the logic to next line of
-         * enterToContinue() where the loop ends and
-         * the game logic may proceed
-         */
-        public void run(){
-            while(proceed){
-                if(proceed){ // exit loop when changed
-                    return;
-                }
-            }
+    private final ScreenRenderer screen;        // session screen
+    private final PrintStream out;              // session text output
+    private final Deque<String> pages = new ArrayDeque<>(); // screens still to show, one per pause
+    private boolean paused;                     // true while the player is asked to press ENTER
+    private boolean batch;                      // true when no one is watching: no pauses and no clearing
+
+    // CTOR
+    public GameEvents(ScreenRenderer screen) {
+        this.screen = screen;
+        this.out = screen.getText();
+    }
+
+    public void enterForNewGame() {
+        if (batch) return;
+        out.println("\n\n- Press ENTER to Start a New Game -"); // Tell user how to continue
+        paused = true;                                         // the next line entered continues
+    }
+
+    public void enterToContinue() {
+        if (batch) return;
+        out.println("\n\n--- Press ENTER ---"); // Tell user how to continue
+        paused = true;                         // the next line entered continues
+    }
+
+    // shows the first of several screens, each pause then shows the next one
+    public void showPages(List<String> screens) {
+        pages.clear();
+        pages.addAll(screens);
+        resume();
+    }
+
+    /*
+     * ends the current pause: shows the next page on a cleared console, if there is one, which pauses again;
+     * otherwise erases only the pause's text, so the frame above it needn't be drawn again
+     */
+    public void resume() {
+        paused = false;
+        String page = pages.poll();
+        if (page != null) {
+            clearConsole();            // clear the console
+            out.println(page);
+            enterToContinue();
+        } else if (!batch) {
+            screen.clearText();        // the frame the pause was shown under stays
         }
+    }
 
+    // returns true while the session waits for the player to press ENTER
+    public boolean isPaused() {
+        return paused;
     }
-}
 
+    // clears terminal and resets cursor at 0,0
+    public void clearConsole() {
+        if (batch) return;
+        screen.clear();
+    }
+
+    // turns batch mode on or off, for games played by scripts at full speed
+    public void setBatch(boolean batch) {
+        this.batch = batch;
+    }
+}
@@ -0,0 +1,109 @@
+package com.lostinspace.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/*
+ * Input Pipeline Class |
+ * The one reader of a session's input.
+ * A reader thread moves whole lines into a bounded queue as they arrive, so a player can type ahead
+ * several commands while the game is still busy or paused; when the queue is full the reader waits.
+ * Everything that waits here blocks on the queue or on the stream, so no CPU is used while waiting.
+ *
+ * The reader thread is only started by the first read, so a session that never reads input,
+ * such as a headless simulation, never starts one.
+ */
+public class InputPipeline {
+    public static final int DEFAULT_TYPE_AHEAD = 16;   // lines that may be queued before the reader waits
+
+    private static final String END = new String("end of input"); // queued once the stream ends, compared by identity
+
+    private final BufferedReader source;                // the session's raw input
+    private final BlockingQueue<String> lines;          // lines read but not yet taken
+    private volatile IOException failure;               // why the reader stopped early, if it did
+    private boolean started;                            // true once the reader thread exists
+    private boolean ended;                              // true once END has been taken
+
+    // CTOR
+    public InputPipeline(BufferedReader source, int typeAhead) {
+        this.source = source;
+        this.lines = new ArrayBlockingQueue<>(typeAhead);
+    }
+
+    public InputPipeline(BufferedReader source) {
+        this(source, DEFAULT_TYPE_AHEAD);
+    }
+
+    // returns the next line, waiting for one if none is queued, or null once the input has ended
+    public synchronized String take() throws IOException {
+        if (ended) return null;
+        start();
+        try {
+            return next(lines.take());
+        } catch (InterruptedException err) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for input", err);
+        }
+    }
+
+    // returns the next line if one is already queued, without waiting, or null if there is none yet
+    public synchronized String poll() throws IOException {
+        if (ended) return null;
+        start();
+        return next(lines.poll());
+    }
+
+    // returns true once every line has been taken and the input has ended
+    public synchronized boolean isEnded() {
+        return ended;
+    }
+
+    // returns the number of lines typed ahead and waiting to be taken
+    public int pending() {
+        return lines.contains(END) ? lines.size() - 1 : lines.size();
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private String next(String line) throws IOException {
+        if (line != END) return line;
+        ended = true;
+        if (failure != null) throw failure;
+        return null;
+    }
+
+    // starts the reader on a virtual thread when the JVM has them, otherwise on a daemon platform thread
+    private void start() {
+        if (started) return;
+        started = true;
+        try {
+            Thread.class.getMethod("startVirtualThread", Runnable.class).invoke(null, (Runnable) this::read);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException err) {
+            Thread reader = new Thread(this::read, "input-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+    }
+
+    // reads lines until the stream ends, waiting whenever the queue is full
+    private void read() {
+        try {
+            String line;
+            while ((line = source.readLine()) != null) {
+                lines.put(line);
+            }
+        } catch (IOException err) {
+            failure = err;
+        } catch (InterruptedException err) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            lines.put(END);
+        } catch (InterruptedException err) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
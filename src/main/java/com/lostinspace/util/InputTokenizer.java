@@ -0,0 +1,70 @@
+package com.lostinspace.util;
+
+import java.util.Arrays;
+
+/*
+ * Input Tokenizer Class |
+ * Splits a line of player input into lowercase words without regex or new Strings.
+ * The line is copied into a reusable char buffer and each word is recorded as an offset and length,
+ * so a command can be resolved against the symbol tables without allocating.
+ */
+public class InputTokenizer {
+    private char[] buffer = new char[128];  // lowercase copy of the last line
+    private int[] starts = new int[8];      // offset of each word in buffer
+    private int[] lengths = new int[8];     // length of each word
+    private int count;                      // number of words in the last line
+
+    // splits a line into words on whitespace and returns how many were found
+    public int tokenize(CharSequence line) {
+        int length = line.length();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        }
+
+        count = 0;
+        int i = 0;
+        while (i < length) {
+            // skip the spaces between words
+            while (i < length && Character.isWhitespace(line.charAt(i))) i++;
+            if (i == length) break;
+
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+            }
+
+            // copy the word into the buffer, normalizing it to lowercase
+            int start = i;
+            while (i < length && !Character.isWhitespace(line.charAt(i))) {
+                buffer[i] = Character.toLowerCase(line.charAt(i));
+                i++;
+            }
+            starts[count] = start;
+            lengths[count] = i - start;
+            count++;
+        }
+        return count;
+    }
+
+    // returns word i as a new String, only needed when a word is echoed back to the player
+    public String word(int i) {
+        return new String(buffer, starts[i], lengths[i]);
+    }
+
+    // ACCESSOR METHODS
+    public int count() {
+        return count;
+    }
+
+    public char[] buffer() {
+        return buffer;
+    }
+
+    public int start(int i) {
+        return starts[i];
+    }
+
+    public int length(int i) {
+        return lengths[i];
+    }
+}
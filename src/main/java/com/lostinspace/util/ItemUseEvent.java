@@ -0,0 +1,44 @@
+package com.lostinspace.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Item Use Event Class |
+ * Flight Recorder event for running an item's effects: the itemuses.json method it resolved to,
+ * and how long that method took on its own.
+ */
+@Name("com.lostinspace.ItemUse")
+@Label("Item Use")
+@Category({"Lost in Space", "Commands"})
+@Description("An item's use effects, run through the method named in itemuses.json")
+@StackTrace(false)
+public class ItemUseEvent extends jdk.jfr.Event {
+    @Label("Item")
+    String item;            // name of the item used
+
+    @Label("Method")
+    String method;          // ItemUseMethods method it dispatched to
+
+    // fills in the item use and commits it; call only when shouldCommit() is true
+    public void commit(String item, String method) {
+        this.item = item;
+        this.method = method;
+        commit();
+    }
+
+    // true while a recording wants these events; checked before one is allocated, so nothing is built otherwise
+    public static boolean isRecording() {
+        return FlightRecorder.isInitialized() && Type.TYPE.isEnabled();
+    }
+
+    // looked up on first use, so a game that never records never starts Flight Recorder
+    private static class Type {
+        static final EventType TYPE = EventType.getEventType(ItemUseEvent.class);
+    }
+}
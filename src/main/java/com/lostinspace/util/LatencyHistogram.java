@@ -0,0 +1,120 @@
+package com.lostinspace.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Latency Histogram Class |
+ * Counts how long something took, in nanoseconds, into fixed log-scale buckets:
+ * every power of two is split into 8 buckets, so any percentile is within 12.5% of the true value.
+ * Recording is a few uncontended adds on preallocated cells: no locks, no allocation and no CAS retry loops.
+ * Bucket counts are striped by thread, the count and total are LongAdders and the max a LongAccumulator,
+ * so sessions recording at once rarely write the same cache line; reads sum the stripes.
+ * Reads are not a single atomic snapshot, which is fine for monitoring.
+ */
+public class LatencyHistogram implements CommandLatencyMXBean {
+    private static final int SUB_BITS = 3;                      // 2^3 = 8 buckets per power of two
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_COUNT;
+
+    private static final int STRIPES = stripes();
+
+    private final AtomicLongArray[] counts = new AtomicLongArray[STRIPES]; // bucket counts, one array per stripe
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    // CTOR
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            counts[i] = new AtomicLongArray(BUCKETS);
+        }
+    }
+
+    // records one duration in nanoseconds
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;                               // nanoTime can step back across cores
+        counts[stripe()].incrementAndGet(bucket(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    // returns the duration in nanoseconds that the given fraction of recorded durations are at or below
+    public long percentile(double fraction) {
+        long total = count.sum();
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * fraction));
+        long max = maxNanos.get();
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            for (AtomicLongArray stripe : counts) {
+                seen += stripe.get(i);
+            }
+            if (seen >= rank) return Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    // ACCESSOR METHODS
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long total = count.sum();
+        return total == 0 ? 0 : totalNanos.sum() / 1e3 / total;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return percentile(0.50) / 1e3;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return percentile(0.90) / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return percentile(0.99) / 1e3;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return maxNanos.get() / 1e3;
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // one stripe per core, rounded up to a power of two, so a thread's stripe is a mask of its id
+    private static int stripes() {
+        int cores = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+        return Integer.highestOneBit(cores * 2 - 1);
+    }
+
+    // spreads thread ids, which are often consecutive, over the stripes
+    private static int stripe() {
+        return (int) (Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32) & (STRIPES - 1);
+    }
+
+    // values below 8 get a bucket each; above that, the power of two and the next 3 bits pick the bucket
+    static int bucket(long nanos) {
+        if (nanos < SUB_COUNT) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    // the largest value that falls in a bucket
+    static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        long lower = (long) (SUB_COUNT + bucket % SUB_COUNT) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
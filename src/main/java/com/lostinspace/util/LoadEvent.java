@@ -0,0 +1,45 @@
+package com.lostinspace.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Load Event Class |
+ * Flight Recorder event for one of the Controller's load calls: game content, the world store or a save file.
+ * Loads nest, loadGameObjects() runs loadWorld(), which may fall back to loadWorldFromJson(),
+ * so each call records its own event.
+ */
+@Name("com.lostinspace.Load")
+@Label("Content Load")
+@Category({"Lost in Space", "Loading"})
+@Description("A load call of the game controller")
+@StackTrace(false)
+public class LoadEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;       // name of the Controller method
+
+    @Label("Source")
+    String source;          // what it loaded from: a resource, a file, or the shared template
+
+    // fills in the load and commits it; call only when shouldCommit() is true
+    public void commit(String operation, String source) {
+        this.operation = operation;
+        this.source = source;
+        commit();
+    }
+
+    // true while a recording wants these events; checked before one is allocated, so nothing is built otherwise
+    public static boolean isRecording() {
+        return FlightRecorder.isInitialized() && Type.TYPE.isEnabled();
+    }
+
+    // looked up on first use, so a game that never records never starts Flight Recorder
+    private static class Type {
+        static final EventType TYPE = EventType.getEventType(LoadEvent.class);
+    }
+}
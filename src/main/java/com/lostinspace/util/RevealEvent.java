@@ -0,0 +1,48 @@
+package com.lostinspace.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Reveal Event Class |
+ * Flight Recorder event for a hidden item being made visible in a room.
+ * An instant event: it has no duration worth measuring.
+ */
+@Name("com.lostinspace.Reveal")
+@Label("Hidden Item Reveal")
+@Category({"Lost in Space", "Commands"})
+@Description("A hidden item or interactable made visible")
+@StackTrace(false)
+public class RevealEvent extends jdk.jfr.Event {
+    @Label("Item")
+    String item;            // name of the revealed item
+
+    @Label("Interactable")
+    boolean interactable;   // true when it was placed with the room's interactables instead of its items
+
+    @Label("Room")
+    String room;            // room it was revealed in
+
+    // fills in the reveal and commits it; call only when shouldCommit() is true
+    public void commit(String item, boolean interactable, String room) {
+        this.item = item;
+        this.interactable = interactable;
+        this.room = room;
+        commit();
+    }
+
+    // true while a recording wants these events; checked before one is allocated, so nothing is built otherwise
+    public static boolean isRecording() {
+        return FlightRecorder.isInitialized() && Type.TYPE.isEnabled();
+    }
+
+    // looked up on first use, so a game that never records never starts Flight Recorder
+    private static class Type {
+        static final EventType TYPE = EventType.getEventType(RevealEvent.class);
+    }
+}
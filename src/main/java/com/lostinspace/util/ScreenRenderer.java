@@ -0,0 +1,227 @@
+package com.lostinspace.util;
+
+import org.fusesource.jansi.Ansi;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/*
+ * Screen Renderer Class |
+ * Draws whole screens (frames) for one game session.
+ * A frame is composed line by line into reusable buffers, then sent in a single write and flush
+ * that only redraws the lines that differ from what the terminal already shows.
+ *
+ * Anything else written to the session goes through getText() and lands below the last frame.
+ * The rows it covers are counted, so the frame above it stays known and only those rows are erased,
+ * until the text could have scrolled the frame off the top of the screen; then the next frame is drawn in full.
+ * Lines are wrapped to a fixed width so every frame line is exactly one terminal row.
+ */
+public class ScreenRenderer {
+    public static final int DEFAULT_WIDTH = 80;         // columns frames are wrapped to
+    public static final int DEFAULT_HEIGHT = 24;        // rows a terminal is assumed to show before it scrolls
+    private static final int ECHO_ROWS = 2;             // rows the terminal's echo of typed lines may add below a frame
+
+    private static final String ESC = "\u001B[";
+    private static final String RESET = ansi().reset().toString();
+    private static final Map<Ansi.Color, String> COLORS = new EnumMap<>(Ansi.Color.class); // escape code of each color, built once
+    static {
+        for (Ansi.Color color : Ansi.Color.values()) {
+            COLORS.put(color, ansi().fg(color).toString());
+        }
+    }
+
+    private final OutputStream terminal;                // the session's raw output
+    private final Charset charset;                      // encoding the terminal expects
+    private final PrintStream text;                     // free-form output, which makes the screen unknown
+    private final int width;
+    private final int height;
+    private final StringBuilder output = new StringBuilder(4 * 1024); // escape codes and text of the frame being sent
+    private List<String> frame = new ArrayList<>();     // lines of the frame being composed
+    private List<String> shown = new ArrayList<>();     // lines the terminal shows, from the last frame or clear()
+    private boolean screenKnown = false;                // false once text written outside a frame may have scrolled it
+    private int textRows;                               // rows of text written below the frame shown
+    private int textColumn;                             // column the next character of that text goes in
+
+    // CTOR
+    public ScreenRenderer(OutputStream terminal, Charset charset, int width, int height) {
+        this.terminal = terminal;
+        this.charset = charset;
+        this.width = width;
+        this.height = height;
+        this.text = new PrintStream(new FilterOutputStream(terminal) {
+            @Override
+            public void write(int b) throws IOException {
+                countText(b);
+                checkScrolled();
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                for (int i = off; i < off + len; i++) {
+                    countText(b[i]);
+                }
+                checkScrolled();
+                TerminalWriteEvent event = TerminalWriteEvent.isRecording() ? new TerminalWriteEvent() : null;
+                if (event != null) event.begin();
+                out.write(b, off, len);
+                if (event != null && event.shouldCommit()) event.commit("text", len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                TerminalWriteEvent event = TerminalWriteEvent.isRecording() ? new TerminalWriteEvent() : null;
+                if (event != null) event.begin();
+                out.flush();
+                if (event != null && event.shouldCommit()) event.commit("flush", 0);
+            }
+        }, true, charset);
+    }
+
+    public ScreenRenderer(OutputStream terminal, Charset charset) {
+        this(terminal, charset, DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    // adds a line of plain text to the frame being composed, wrapping it as needed
+    public void line(String line) {
+        wrap(line, null);
+    }
+
+    // adds a line of colored text to the frame being composed, wrapping it as needed
+    public void line(Ansi.Color color, String line) {
+        wrap(line, color);
+    }
+
+    /*
+     * sends the composed frame to the terminal in one write
+     * lines the terminal already shows are skipped, and anything left below the frame,
+     * such as the echo of the last command typed, is erased; the cursor ends on the row below the frame
+     */
+    public void present() {
+        output.setLength(0);
+        if (!screenKnown) {
+            output.append(ESC).append("H").append(ESC).append("2J");  // unknown contents, start from a blank screen
+            shown.clear();
+        }
+
+        for (int row = 0; row < frame.size(); row++) {
+            String line = frame.get(row);
+            if (row < shown.size() && line.equals(shown.get(row))) continue;
+            output.append(ESC).append(row + 1).append(";1H").append(line).append(ESC).append('K');
+        }
+        output.append(ESC).append(frame.size() + 1).append(";1H").append(ESC).append('J');
+
+        write(output, "frame");
+
+        // the frame just sent is now what the terminal shows, reuse the old list for the next frame
+        List<String> previous = shown;
+        shown = frame;
+        frame = previous;
+        frame.clear();
+        screenKnown = true;
+        textRows = 0;
+        textColumn = 0;
+    }
+
+    // blanks the terminal and puts the cursor at the top, so the next frame only has to draw its lines
+    public void clear() {
+        output.setLength(0);
+        output.append(ESC).append("H").append(ESC).append("2J");
+        write(output, "clear");
+        shown.clear();
+        screenKnown = true;
+        textRows = 0;
+        textColumn = 0;
+    }
+
+    /*
+     * erases the text written below the frame shown, such as a pause's message, and keeps the frame,
+     * so the next frame only redraws the lines that change; clears the whole screen if the text may have scrolled it
+     */
+    public void clearText() {
+        if (!screenKnown) {
+            clear();
+            return;
+        }
+        output.setLength(0);
+        output.append(ESC).append(shown.size() + 1).append(";1H").append(ESC).append('J');
+        write(output, "clearText");
+        textRows = 0;
+        textColumn = 0;
+    }
+
+    // returns the stream for text written outside of frames
+    public PrintStream getText() {
+        return text;
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // moves the text position past one byte of text, wrapping at the frame width; escape codes count as columns too
+    private void countText(int b) {
+        if (b == '\n') {
+            textRows++;
+            textColumn = 0;
+        } else if ((b & 0xC0) != 0x80 && b != '\r' && ++textColumn > width) {
+            textRows++;                                 // not a UTF-8 continuation byte, so a new character
+            textColumn = 1;
+        }
+    }
+
+    // forgets the screen once the frame, its echoed input and the text below it no longer fit on it
+    private void checkScrolled() {
+        if (shown.size() + ECHO_ROWS + textRows >= height) screenKnown = false;
+    }
+
+    // splits text into frame lines no wider than the frame, breaking at line ends and, where it can, at spaces
+    private void wrap(String line, Ansi.Color color) {
+        int start = 0;
+        while (true) {
+            int newline = line.indexOf('\n', start);
+            int paragraphEnd = newline < 0 ? line.length() : newline;
+            int textEnd = paragraphEnd > start && line.charAt(paragraphEnd - 1) == '\r' ? paragraphEnd - 1 : paragraphEnd;
+
+            do {
+                int end = Math.min(start + width, textEnd);
+                if (end < textEnd) {
+                    int space = line.lastIndexOf(' ', end);
+                    if (space > start) end = space;
+                }
+                add(line.substring(start, end), color);
+                start = end;
+                while (start < textEnd && line.charAt(start) == ' ') start++;
+            } while (start < textEnd);
+
+            if (newline < 0) return;
+            start = newline + 1;
+        }
+    }
+
+    private void add(String row, Ansi.Color color) {
+        frame.add(color == null || row.isEmpty() ? row : COLORS.get(color) + row + RESET);
+    }
+
+    // sends escape codes and text in one write and flush, recorded as a terminal write of the given kind
+    private void write(CharSequence chars, String kind) {
+        TerminalWriteEvent event = TerminalWriteEvent.isRecording() ? new TerminalWriteEvent() : null;
+        if (event != null) event.begin();
+        try {
+            byte[] bytes = chars.toString().getBytes(charset);
+            terminal.write(bytes);
+            terminal.flush();
+            if (event != null && event.shouldCommit()) event.commit(kind, bytes.length);
+        } catch (IOException err) {
+            throw new UncheckedIOException(err);
+        }
+    }
+}
@@ -3,16 +3,31 @@ package com.lostinspace.util;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
+/*
+ * Script Reader Class |
+ * Reads a command script: one command per line, as a player would type it.
+ * Blank lines and lines starting with # are skipped, so transcripts can carry comments.
+ */
 public class ScriptReader {
-    private String script;
+    private List<String> script = List.of();    // commands of the last script read
 
-    public void readScript(Path path) {
-        try {
-            script = Files.readString(Path.of(String.valueOf(path)));
-            System.out.println(script);
-        } catch (IOException e) {
-            e.printStackTrace();
+    // reads a script and returns its commands in order
+    public List<String> readScript(Path path) throws IOException {
+        List<String> commands = new ArrayList<>();
+        for (String line : Files.readAllLines(path)) {
+            String command = line.strip();
+            if (!command.isEmpty() && !command.startsWith("#")) {
+                commands.add(command);
+            }
         }
+        script = List.copyOf(commands);
+        return script;
     }
-}
\ No newline at end of file
+
+    public List<String> getScript() {
+        return script;
+    }
+}
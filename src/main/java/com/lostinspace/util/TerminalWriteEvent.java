@@ -0,0 +1,46 @@
+package com.lostinspace.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Terminal Write Event Class |
+ * Flight Recorder event for one write of a session's screen to its terminal, flush included.
+ * Inside a command event, these tell a slow terminal or network apart from slow game code.
+ */
+@Name("com.lostinspace.TerminalWrite")
+@Label("Terminal Write")
+@Category({"Lost in Space", "Terminal"})
+@Description("Bytes written to a session's terminal")
+@StackTrace(false)
+public class TerminalWriteEvent extends jdk.jfr.Event {
+    @Label("Kind")
+    String kind;            // "frame" or "clear" for whole screens, "text" or "flush" for free-form output
+
+    @Label("Bytes")
+    @DataAmount
+    int bytes;              // bytes written
+
+    // fills in the write and commits it; call only when shouldCommit() is true
+    public void commit(String kind, int bytes) {
+        this.kind = kind;
+        this.bytes = bytes;
+        commit();
+    }
+
+    // true while a recording wants these events; checked before one is allocated, so nothing is built otherwise
+    public static boolean isRecording() {
+        return FlightRecorder.isInitialized() && Type.TYPE.isEnabled();
+    }
+
+    // looked up on first use, so a game that never records never starts Flight Recorder
+    private static class Type {
+        static final EventType TYPE = EventType.getEventType(TerminalWriteEvent.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.lostinspace.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Text Cache Class |
+ * The game's narrative screens, read from the classpath once per JVM and split into pages ahead of time.
+ * Immutable, so every session shares the one instance without copying or locking.
+ */
+public class TextCache {
+    public static final String PROLOGUE = "prologue.txt";           // story told before the first game
+    public static final String TITLE = "welcome.txt";               // title card
+    public static final String TUTORIAL = "tutorialText.txt";       // game instructions shown before play
+    public static final String HELP = "instructions.txt";           // commands reminder
+    public static final String OBJECTIVES = "gameobjectives.txt";   // game winning objectives
+    public static final int PROLOGUE_PAGE_LINES = 13;               // lines of prologue shown per screen
+
+    private final Map<String, List<String>> pages;      // resource name -> its text, page by page
+
+    // CTOR loads every text in the game
+    private TextCache(FileGetter filegetter) {
+        Map<String, List<String>> pages = new HashMap<>();
+        pages.put(PROLOGUE, paginate(readLines(filegetter, PROLOGUE), PROLOGUE_PAGE_LINES));
+        for (String name : List.of(TITLE, TUTORIAL, HELP, OBJECTIVES)) {
+            List<String> lines = readLines(filegetter, name);
+            pages.put(name, paginate(lines, Math.max(lines.size(), 1)));
+        }
+        this.pages = Collections.unmodifiableMap(pages);
+    }
+
+    // returns the cache every session shares, loading it on first use
+    public static TextCache shared() {
+        return Holder.SHARED;
+    }
+
+    // returns the pages of a text
+    public List<String> getPages(String name) {
+        List<String> textPages = pages.get(name);
+        if (textPages == null) {
+            throw new IllegalArgumentException("No cached text named \"" + name + "\"");
+        }
+        return textPages;
+    }
+
+    // returns a text that is shown as a single screen
+    public String getText(String name) {
+        return getPages(name).get(0);
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // loads on first use of shared(), which the JVM makes thread safe
+    private static class Holder {
+        static final TextCache SHARED = new TextCache(new FileGetter());
+    }
+
+    private static List<String> readLines(FileGetter filegetter, String name) {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(filegetter.getResource(name))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException err) {
+            throw new UncheckedIOException(err);
+        }
+        return lines;
+    }
+
+    // joins lines into pages of up to linesPerPage lines each
+    private static List<String> paginate(List<String> lines, int linesPerPage) {
+        String ls = System.lineSeparator();
+        List<String> textPages = new ArrayList<>();
+        for (int start = 0; start < lines.size(); start += linesPerPage) {
+            textPages.add(String.join(ls, lines.subList(start, Math.min(start + linesPerPage, lines.size()))));
+        }
+        if (textPages.isEmpty()) {
+            textPages.add("");
+        }
+        return Collections.unmodifiableList(textPages);
+    }
+}
@@ -0,0 +1,135 @@
+package com.lostinspace.controller;
+
+import com.lostinspace.model.PackedState;
+import com.lostinspace.model.TestWorlds;
+import com.lostinspace.model.WorldTemplate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalReplayTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysFromTheLastCheckpointWithItsEasyMode() throws IOException {
+        WorldTemplate template = Controller.newTemplate(TestWorlds.stock());
+        Path journal = dir.resolve("session.journal");
+
+        Controller game = session(template);
+        game.startJournal(journal);
+        play(game, "use library", "go south", "easymode", "go south", "go west");
+        game.userCommands("save");                      // checkpoints, with easy mode on
+        play(game, "use locker", "go east", "go south", "go south");
+        game.stopJournal();
+
+        Controller resumed = session(template);
+        assertEquals(4, resumed.startJournal(journal));
+        resumed.stopJournal();
+        assertSameGame(game, resumed);
+        assertTrue(resumed.getItemUseMethods().isEasyMode());
+    }
+
+    @Test
+    void replaysAnEasyModeToggleAfterTheCheckpoint() throws IOException {
+        WorldTemplate template = Controller.newTemplate(TestWorlds.stock());
+        Path journal = dir.resolve("session.journal");
+
+        Controller game = session(template);
+        game.startJournal(journal);
+        play(game, "easymode", "use library", "go south");
+        game.checkpoint();
+        play(game, "go south", "easymode", "go west", "use locker");
+        game.stopJournal();
+        assertFalse(game.getItemUseMethods().isEasyMode());
+
+        Controller resumed = session(template);
+        assertEquals(4, resumed.startJournal(journal));
+        resumed.stopJournal();
+        assertSameGame(game, resumed);
+        assertFalse(resumed.getItemUseMethods().isEasyMode());
+    }
+
+    @Test
+    void leavesOutCommandsThatOnlyShowSomething() throws IOException {
+        WorldTemplate template = Controller.newTemplate(TestWorlds.stock());
+        Path journal = dir.resolve("session.journal");
+
+        Controller game = session(template);
+        game.startJournal(journal);
+        play(game, "go south", "help", "objectives", "hint", "go north");
+        game.stopJournal();
+
+        Controller resumed = session(template);
+        assertEquals(2, resumed.startJournal(journal));
+        resumed.stopJournal();
+        assertSameGame(game, resumed);
+    }
+
+    @Test
+    void journalsALineLongerThanTheJournalBuffer() throws IOException {
+        WorldTemplate template = Controller.newTemplate(TestWorlds.stock());
+        Path journal = dir.resolve("session.journal");
+
+        Controller game = session(template);
+        game.startJournal(journal);
+        play(game, "go south", "look " + "x".repeat(10_000), "go south");
+        game.stopJournal();
+
+        Controller resumed = session(template);
+        assertEquals(3, resumed.startJournal(journal));
+        resumed.stopJournal();
+        assertSameGame(game, resumed);
+    }
+
+    @Test
+    void checkpointsALargeGame() throws IOException {
+        WorldTemplate template = TestWorlds.large();
+        Path journal = dir.resolve("session.journal");
+
+        Controller game = session(template);
+        TestWorlds.scatter(game.getState(), template, TestWorlds.LARGE, 3);
+        game.userCommands("easymode");
+        game.startJournal(journal);                     // its first checkpoint is far bigger than the journal's buffer
+        play(game, "go north", "look room");
+        game.stopJournal();
+        assertTrue(Files.size(journal) > 8 * 1024);
+
+        Controller resumed = session(template);
+        assertNotEquals(PackedState.pack(game.getState(), template), PackedState.pack(resumed.getState(), template));
+        assertEquals(2, resumed.startJournal(journal));
+        resumed.stopJournal();
+        assertSameGame(game, resumed);
+        assertTrue(resumed.getItemUseMethods().isEasyMode());
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // a headless session on a template, saving into the test's directory
+    private Controller session(WorldTemplate template) {
+        Controller game = TestWorlds.game(template);
+        game.setSaveFile(dir.resolve("session.sav"));
+        return game;
+    }
+
+    private static void play(Controller game, String... commands) throws IOException {
+        for (String command : commands) {
+            game.userCommands(command);
+        }
+    }
+
+    private static void assertSameGame(Controller expected, Controller actual) {
+        WorldTemplate template = expected.getTemplate();
+        assertEquals(PackedState.pack(expected.getState(), template), PackedState.pack(actual.getState(), template));
+        assertEquals(expected.getInventory(), actual.getInventory());
+        assertEquals(expected.getPlayer().getOxygen(), actual.getPlayer().getOxygen());
+    }
+}
@@ -0,0 +1,45 @@
+package com.lostinspace.model;
+
+import com.lostinspace.controller.Controller;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ItemUseMethodsTest {
+    @Test
+    void pipesAreUsedUpInTheirRoomOnly() throws IOException {
+        Controller game = TestWorlds.game(Controller.newTemplate(TestWorlds.stock()));
+        game.getPlayer().setOxygen(50.00);
+        game.userCommands("use pipes");
+
+        assertEquals(75.50, game.getPlayer().getOxygen(), 1e-9);
+        assertNull(find(game, "Cockpit", "pipes"), "pipes should be gone from the room they were used in");
+        assertNotNull(find(game, "Cockpit", "library"), "other interactables in the room should stay");
+        assertNotNull(find(game, "Junction Hallway 1", "pipes"), "pipes in other rooms should stay");
+
+        game.userCommands("use pipes");                 // nothing left to use here
+        assertEquals(75.50, game.getPlayer().getOxygen(), 1e-9);
+    }
+
+    @Test
+    void pipesStayInEasyMode() throws IOException {
+        Controller game = TestWorlds.game(Controller.newTemplate(TestWorlds.stock()));
+        game.userCommands("easymode");
+        game.getPlayer().setOxygen(50.00);
+        game.userCommands("use pipes");
+
+        assertEquals(75.50, game.getPlayer().getOxygen(), 1e-9);
+        assertNotNull(find(game, "Cockpit", "pipes"));
+        assertNotNull(find(game, "Cockpit", "library"));
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private static Item find(Controller game, String room, String name) {
+        return game.getInteractablesInRoom().find(game.getMap().getRoom(room).getId(), game.getSymbols().idOf(name));
+    }
+}
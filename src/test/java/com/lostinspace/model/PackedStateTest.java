@@ -0,0 +1,91 @@
+package com.lostinspace.model;
+
+import com.lostinspace.controller.Controller;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackedStateTest {
+    @Test
+    void unpacksAPlayedStockGame() throws IOException {
+        Controller game = TestWorlds.game(Controller.newTemplate(TestWorlds.stock()));
+        for (String command : SaveGameTest.OPENING) {
+            game.userCommands(command);
+        }
+        assertRoundTrip(game.getState(), game.getTemplate());
+    }
+
+    @Test
+    void unpacksALargeGame() {
+        WorldTemplate template = TestWorlds.large();
+        GameState state = new GameState(template, 80.00);
+        TestWorlds.scatter(state, template, TestWorlds.LARGE, 3);
+        assertRoundTrip(state, template);
+    }
+
+    @Test
+    void packsTheSameStateTheSameWhateverTheOrder() {
+        WorldTemplate template = TestWorlds.withSectors(16);
+        GameState first = new GameState(template, 80.00);
+        GameState second = new GameState(template, 80.00);
+        take(first, template, 3);
+        take(first, template, 7);
+        take(second, template, 7);
+        take(second, template, 3);
+
+        PackedState a = PackedState.pack(first, template);
+        PackedState b = PackedState.pack(second, template);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+
+        second.getPlayer().setOxygen(50.00);
+        PackedState c = PackedState.pack(second, template);
+        assertNotEquals(a, c);
+        assertEquals(a.withoutOxygen(), c.withoutOxygen());
+    }
+
+    @Test
+    void rejectsAnItemThatCouldBeHeldTwice() {
+        WorldSnapshot stock = TestWorlds.stock();
+        List<Item> items = new ArrayList<>(stock.getItems());
+        items.add(new Item("crate", List.of(), List.of("Cockpit", "Engine Room Hallway"), "a supply CRATE",
+                "A sealed supply crate.", false, "An empty crate."));
+        assertThrows(IllegalStateException.class, () -> Controller.newTemplate(new WorldSnapshot(stock.getMap(),
+                items, stock.getHiddenItems(), stock.getInteractables(), stock.getItemUseMap())));
+
+        WorldSnapshot again = TestWorlds.stock();
+        List<Item> twice = new ArrayList<>(again.getItems());
+        twice.add(again.getItems().get(0));                 // the same name listed again
+        assertThrows(IllegalStateException.class, () -> Controller.newTemplate(new WorldSnapshot(again.getMap(),
+                twice, again.getHiddenItems(), again.getInteractables(), again.getItemUseMap())));
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // packs a state, unpacks it into a new game and checks the new game packs the same
+    private static void assertRoundTrip(GameState state, WorldTemplate template) {
+        PackedState packed = PackedState.pack(state, template);
+        GameState unpacked = new GameState(template, 80.00);
+        packed.unpack(unpacked, template);
+
+        assertEquals(packed, PackedState.pack(unpacked, template));
+        assertEquals(state.getPlayer().getRoom(), unpacked.getPlayer().getRoom());
+        assertEquals(state.getInventory().size(), unpacked.getInventory().size());
+        assertEquals(state.getUsed(), unpacked.getUsed());
+        assertEquals(state.getLocked(), unpacked.getLocked());
+        assertEquals(state.getRevealed(), unpacked.getRevealed());
+    }
+
+    // moves a sector's crate into the inventory
+    private static void take(GameState state, WorldTemplate template, int sector) {
+        Item crate = template.getObject(template.getSymbols().idOf(TestWorlds.crate(sector)));
+        state.getItemsInRoom().remove(template.getMap().getRoom(TestWorlds.sector(sector)).getId(), crate);
+        state.getInventory().add(crate);
+    }
+}
@@ -0,0 +1,69 @@
+package com.lostinspace.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteTableTest {
+    @Test
+    void unlockMatchesAFreshTableOnAPrecomputedMap() {
+        RoomsRoot map = TestWorlds.withSectors(196).getMap();
+        assertTrue(map.getRoomCount() <= RouteTable.PRECOMPUTE_ROOMS, "every column should be filled at load");
+        assertUnlocksMatch(map, 0);
+    }
+
+    @Test
+    void unlockMatchesAFreshTableWithColumnsPartlyFilled() {
+        RoomsRoot map = TestWorlds.withSectors(900).getMap();
+        assertTrue(map.getRoomCount() > RouteTable.PRECOMPUTE_ROOMS, "columns should be filled as they are asked for");
+        assertUnlocksMatch(map, 3);
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    /*
+     * locks a spread of rooms, then unlocks them one at a time, checking each derived table against one
+     * filled from scratch for the same locks; 'fillEvery' > 0 fills only every so many columns before each unlock
+     */
+    private static void assertUnlocksMatch(RoomsRoot map, int fillEvery) {
+        int rooms = map.getRoomCount();
+        Random random = new Random(42);
+        BitSet locked = new BitSet();
+        while (locked.cardinality() < Math.min(rooms / 8, 24)) {
+            locked.set(random.nextInt(rooms));
+        }
+
+        RouteTable table = new RouteTable(map, (BitSet) locked.clone());
+        for (int room = locked.nextSetBit(0); room >= 0; room = locked.nextSetBit(room + 1)) {
+            if (fillEvery > 0) {
+                for (int to = 0; to < rooms; to += fillEvery) table.distance(0, to);
+            }
+            table = table.unlock(room);
+            BitSet now = (BitSet) table.getLocked().clone();
+            assertRoutesMatch(map, table, new RouteTable(map, now));
+        }
+    }
+
+    // distances must be the same; steps may differ where routes tie, but must each lead one move closer
+    private static void assertRoutesMatch(RoomsRoot map, RouteTable derived, RouteTable fresh) {
+        int rooms = map.getRoomCount();
+        for (int to = 0; to < rooms; to++) {
+            for (int from = 0; from < rooms; from++) {
+                int distance = fresh.distance(from, to);
+                assertEquals(distance, derived.distance(from, to), "distance from " + from + " to " + to);
+
+                int step = derived.nextStep(from, to);
+                if (from == to || distance == RouteTable.NO_ROUTE) {
+                    assertEquals(RouteTable.NO_ROUTE, step, "step from " + from + " to " + to);
+                } else {
+                    int next = map.getRoom(from).getExitIds()[step];
+                    assertEquals(distance - 1, fresh.distance(next, to), "step from " + from + " to " + to);
+                }
+            }
+        }
+    }
+}
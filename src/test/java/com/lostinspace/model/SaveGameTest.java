@@ -0,0 +1,115 @@
+package com.lostinspace.model;
+
+import com.lostinspace.controller.Controller;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SaveGameTest {
+    // the first half of the shortest win: items taken, a locker used, the cabinet unlocked and the tool revealed
+    static final List<String> OPENING = List.of("use library", "go south", "go south", "go west", "use locker",
+            "go east", "go south", "go south", "go south", "use key", "drop key");
+
+    @Test
+    void restoresAPlayedStockGame() throws IOException {
+        Controller game = TestWorlds.game(Controller.newTemplate(TestWorlds.stock()));
+        for (String command : OPENING) {
+            game.userCommands(command);
+        }
+        assertRoundTrip(game.getState(), game.getTemplate());
+    }
+
+    @Test
+    void restoresALargeGameTooBigForTheOldBuffer() throws IOException {
+        WorldTemplate template = TestWorlds.large();
+        GameState state = new GameState(template, 80.00);
+        TestWorlds.scatter(state, template, TestWorlds.LARGE, 3);
+
+        ByteBuffer buf = assertRoundTrip(state, template);
+        assertTrue(buf.limit() > 8 * 1024, "the save should be larger than any fixed buffer the game used to have");
+    }
+
+    @Test
+    void failsWhenTheBufferIsTooSmall() {
+        WorldTemplate template = TestWorlds.large();
+        GameState state = new GameState(template, 80.00);
+        TestWorlds.scatter(state, template, TestWorlds.LARGE, 3);
+
+        assertThrows(IOException.class, () -> SaveGame.encode(state, template, ByteBuffer.allocate(4 * 1024)));
+    }
+
+    @Test
+    void rejectsASaveOfOtherContent() throws IOException {
+        WorldTemplate stock = Controller.newTemplate(TestWorlds.stock());
+        ByteBuffer buf = ByteBuffer.allocate(SaveGame.maxSize(stock));
+        SaveGame.encode(new GameState(stock, 80.00), stock, buf);
+
+        WorldTemplate large = TestWorlds.large();
+        assertThrows(IOException.class, () -> SaveGame.decode(buf.flip(), large, new GameState(large, 80.00)));
+    }
+
+    @Test
+    void rejectsATruncatedSaveWithoutChangingTheGame() throws IOException {
+        WorldTemplate template = TestWorlds.large();
+        GameState saved = new GameState(template, 80.00);
+        TestWorlds.scatter(saved, template, TestWorlds.LARGE, 3);
+        ByteBuffer buf = ByteBuffer.allocate(SaveGame.maxSize(template));
+        SaveGame.encode(saved, template, buf);
+        buf.flip().limit(buf.limit() / 2);
+
+        GameState state = new GameState(template, 80.00);
+        PackedState before = PackedState.pack(state, template);
+        assertThrows(IOException.class, () -> SaveGame.decode(buf, template, state));
+        assertEquals(before, PackedState.pack(state, template));
+    }
+
+    @Test
+    void rejectsACountLargerThanTheContent() {
+        WorldTemplate template = Controller.newTemplate(TestWorlds.stock());
+        int symbols = template.getSymbols().size();
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        buf.putInt(SaveGame.MAGIC).putShort(SaveGame.VERSION);
+        putVarint(symbols, buf);
+        putVarint(template.getMap().getRoomCount(), buf);
+        putVarint(template.getStartRoom().getId(), buf);
+        buf.putDouble(80.00);
+        putVarint(symbols + 1, buf);                    // more items carried than there are objects
+
+        IOException err = assertThrows(IOException.class,
+                () -> SaveGame.decode(buf.flip(), template, new GameState(template, 80.00)));
+        assertTrue(err.getMessage().contains("more than the game has"), err.getMessage());
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // encodes a state, decodes it into a new game and checks they match; returns the encoded save
+    private static ByteBuffer assertRoundTrip(GameState state, WorldTemplate template) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(SaveGame.maxSize(template));
+        SaveGame.encode(state, template, buf);
+        buf.flip();
+
+        GameState loaded = new GameState(template, 80.00);
+        SaveGame.decode(buf.duplicate(), template, loaded);
+
+        assertFalse(state.getInventory().isEmpty(), "the game should have changed from its start");
+        assertEquals(PackedState.pack(state, template), PackedState.pack(loaded, template));
+        assertEquals(state.getInventory(), loaded.getInventory());     // a save keeps the order items were taken in
+        assertEquals(state.getPlayer().getOxygen(), loaded.getPlayer().getOxygen());
+        return buf;
+    }
+
+    private static void putVarint(int value, ByteBuffer buf) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+}
@@ -0,0 +1,128 @@
+package com.lostinspace.model;
+
+import com.lostinspace.controller.Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Test Worlds Class |
+ * Worlds the tests run against: the stock ship, read from the JSON content, or the stock ship with a grid
+ * of generated sectors east of the Enviro-Field, each holding one crate, as the benchmarks build them.
+ * Every call returns new objects, so each world gets its own ids.
+ */
+public final class TestWorlds {
+    public static final String ANCHOR_ROOM = "Enviro-Field";  // stock room the grid is attached to
+    public static final int LARGE = 20_000;                   // sectors in the large world
+
+    private TestWorlds() {
+    }
+
+    // returns the stock world
+    public static WorldSnapshot stock() {
+        return Controller.headless().loadWorldFromJson();
+    }
+
+    // returns the stock world with a grid of sectors added to it
+    public static WorldSnapshot world(int sectors) {
+        return withSectors(stock(), sectors);
+    }
+
+    // returns the template of the stock world with a grid of sectors added to it
+    public static WorldTemplate withSectors(int sectors) {
+        return Controller.newTemplate(world(sectors));
+    }
+
+    // returns the template of the large world, built once and shared, as sessions share one
+    public static WorldTemplate large() {
+        return Large.TEMPLATE;
+    }
+
+    // returns a headless game started on a template
+    public static Controller game(WorldTemplate template) {
+        Controller game = Controller.headless();
+        game.setBatchMode(true);
+        game.loadGameObjects(template);
+        return game;
+    }
+
+    /*
+     * changes a state the way a long game on a generated world would: crates carried, crates moved,
+     * flags set on high ids and the player somewhere far from the start
+     * uses every 'step'th sector, so the state is as big as the caller needs
+     */
+    public static void scatter(GameState state, WorldTemplate template, int sectors, int step) {
+        RoomsRoot map = template.getMap();
+        for (int i = 0; i < sectors; i += step) {
+            int room = map.getRoom(sector(i)).getId();
+            Item crate = template.getObject(template.getSymbols().idOf(crate(i)));
+            state.getItemsInRoom().remove(room, crate);
+            if (i % (2 * step) == 0) {
+                state.getInventory().add(crate);
+            } else {
+                state.getItemsInRoom().add(map.getRoom(sector(sectors - 1 - i)).getId(), crate);
+            }
+            state.setUsed(crate.getId(), true);
+            state.setRevealed(crate.getId());
+        }
+        state.getPlayer().setCurrentRoom(map.getRoom(sector(sectors - 1)));
+        state.getPlayer().setOxygen(12.34);
+    }
+
+    public static String sector(int i) {
+        return "Sector " + i;
+    }
+
+    public static String crate(int i) {
+        return "crate" + i;
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private static WorldSnapshot withSectors(WorldSnapshot stock, int sectors) {
+        int width = (int) Math.ceil(Math.sqrt(sectors));
+
+        List<Room> rooms = new ArrayList<>(stock.getMap().getRooms().size() + sectors);
+        Room anchor = null;
+        for (Room room : stock.getMap().getRooms()) {
+            Room copy = new Room();
+            copy.name = room.name;
+            copy.description = room.description;
+            copy.exits = room.exits;
+            rooms.add(copy);
+            if (copy.getName().equals(ANCHOR_ROOM)) anchor = copy;
+        }
+        if (anchor == null) {
+            throw new IllegalStateException("The stock world has no \"" + ANCHOR_ROOM + "\" to attach sectors to");
+        }
+        anchor.exits = new Exit(anchor.exits.getNorth(), anchor.exits.getSouth(), sector(0), anchor.exits.getWest());
+
+        List<Item> items = new ArrayList<>(stock.getItems());
+        for (int i = 0; i < sectors; i++) {
+            int row = i / width;
+            int col = i % width;
+            Room room = new Room();
+            room.name = sector(i);
+            room.description = "Sector " + i + " of the outer hull, row " + row + ", column " + col + ".";
+            room.exits = new Exit(
+                    row > 0 ? sector(i - width) : "",
+                    i + width < sectors ? sector(i + width) : "",
+                    col + 1 < width && i + 1 < sectors ? sector(i + 1) : "",
+                    col > 0 ? sector(i - 1) : (i == 0 ? anchor.name : ""));
+            rooms.add(room);
+
+            items.add(new Item(crate(i), List.of(), List.of(room.name), "a supply CRATE",
+                    "A sealed supply crate stencilled with the number " + i + ".", false, "An empty crate."));
+        }
+
+        RoomsRoot map = new RoomsRoot();
+        map.rooms = rooms;
+        map.createMap();
+        return new WorldSnapshot(map, items, stock.getHiddenItems(), stock.getInteractables(), stock.getItemUseMap());
+    }
+
+    // builds the large world the first time a test asks for it
+    private static class Large {
+        static final WorldTemplate TEMPLATE = withSectors(LARGE);
+    }
+}
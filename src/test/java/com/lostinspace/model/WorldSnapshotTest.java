@@ -0,0 +1,89 @@
+package com.lostinspace.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WorldSnapshotTest {
+    @Test
+    void readsBackTheStockWorld() throws IOException {
+        WorldSnapshot world = TestWorlds.stock();
+        WorldSnapshot read = roundTrip(world);
+
+        assertSameRooms(world, read);
+        assertSameItems(world.getItems(), read.getItems());
+        assertSameItems(world.getInteractables(), read.getInteractables());
+        assertEquals(world.getHiddenItems().size(), read.getHiddenItems().size());
+        for (int i = 0; i < world.getHiddenItems().size(); i++) {
+            HiddenItem expected = world.getHiddenItems().get(i);
+            HiddenItem item = read.getHiddenItems().get(i);
+            assertEquals(expected.getName(), item.getName());
+            assertEquals(expected.getInside(), item.getInside());
+            assertEquals(expected.isHidden(), item.isHidden());
+            assertEquals(expected.getUsedDescription(), item.getUsedDescription());
+        }
+        assertEquals(world.getItemUseMap(), read.getItemUseMap());
+    }
+
+    @Test
+    void holdsMoreRoomsAndItemsThanAShortCount() throws IOException {
+        WorldSnapshot world = TestWorlds.world(70_000);
+        WorldSnapshot read = roundTrip(world);
+
+        assertSameRooms(world, read);
+        assertSameItems(world.getItems(), read.getItems());
+    }
+
+    @Test
+    void holdsAStringLongerThan64K() throws IOException {
+        WorldSnapshot world = TestWorlds.stock();
+        world.getMap().getRooms().get(0).description = "Ä".repeat(100_000);   // two UTF-8 bytes each
+
+        assertSameRooms(world, roundTrip(world));
+    }
+
+    @Test
+    void rejectsAnOlderVersion() {
+        byte[] old = ByteBuffer.allocate(16).putInt(WorldSnapshot.MAGIC).putShort((short) 1).array();
+        assertThrows(IOException.class, () -> WorldSnapshot.read(new ByteArrayInputStream(old)));
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private static WorldSnapshot roundTrip(WorldSnapshot world) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        world.write(out);
+        return WorldSnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void assertSameRooms(WorldSnapshot expected, WorldSnapshot actual) {
+        List<Room> rooms = expected.getMap().getRooms();
+        assertEquals(rooms.size(), actual.getMap().getRooms().size());
+        for (int id = 0; id < rooms.size(); id++) {
+            Room room = actual.getMap().getRoom(id);
+            assertEquals(rooms.get(id).getName(), room.getName());
+            assertEquals(rooms.get(id).getDescription(), room.getDescription());
+            for (int dir = 0; dir < Exit.DIRECTION_COUNT; dir++) {
+                assertEquals(rooms.get(id).getExits().get(dir), room.getExits().get(dir));
+            }
+        }
+    }
+
+    private static void assertSameItems(List<Item> expected, List<Item> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getSynonyms(), actual.get(i).getSynonyms());
+            assertEquals(expected.get(i).getRoom(), actual.get(i).getRoom());
+            assertEquals(expected.get(i).getDescription(), actual.get(i).getDescription());
+            assertEquals(expected.get(i).getUsedDescription(), actual.get(i).getUsedDescription());
+        }
+    }
+}
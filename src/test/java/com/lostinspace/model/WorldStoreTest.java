@@ -0,0 +1,159 @@
+package com.lostinspace.model;
+
+import com.lostinspace.controller.Controller;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldStoreTest {
+    private static final int CACHE_SIZE = 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsBackEveryRoomThroughABoundedCache() throws IOException {
+        WorldSnapshot world = Controller.headless().loadWorldFromJson();
+        WorldTemplate heap = Controller.newTemplate(world);
+        Path file = dir.resolve("world.store");
+        WorldStore.write(file, heap);
+
+        WorldStore store = WorldStore.open(file, CACHE_SIZE);
+        WorldTemplate mapped = Controller.newTemplate(new WorldSnapshot(new RoomsRoot(store), world.getItems(),
+                world.getHiddenItems(), world.getInteractables(), world.getItemUseMap()));
+
+        assertEquals(heap.getMap().getRoomCount(), store.getRoomCount());
+        assertEquals(heap.getSymbols().size(), store.getSymbolCount());
+        for (int id = 0; id < store.getRoomCount(); id++) {
+            Room expected = heap.getMap().getRoom(id);
+            Room room = mapped.getMap().getRoom(id);
+            assertEquals(expected.getName(), room.getName());
+            assertEquals(expected.getDescription(), room.getDescription());
+            assertArrayEquals(expected.getExitIds(), room.getExitIds(), "exits of " + expected.getName());
+            assertEquals(names(heap.getItemsInRoom().get(id)), names(mapped.getItemsInRoom().get(id)));
+            assertEquals(names(heap.getInteractablesInRoom().get(id)), names(mapped.getInteractablesInRoom().get(id)));
+            assertEquals(id, store.idOf(expected.getName()));
+            assertTrue(store.getCachedRooms() <= CACHE_SIZE, "the cache should never hold more than its size");
+        }
+        assertEquals(-1, store.idOf("No Such Room"));
+    }
+
+    @Test
+    void countsHitsAndMisses() throws IOException {
+        Path file = dir.resolve("world.store");
+        WorldStore.write(file, Controller.newTemplate(Controller.headless().loadWorldFromJson()));
+        WorldStore store = WorldStore.open(file, 1);     // one stripe holding one room
+
+        store.getRoom(0);
+        store.getRoom(0);                               // cached
+        store.getRoom(1);                               // drops room 0
+        store.getRoom(0);
+        assertEquals(1, store.getHits());
+        assertEquals(3, store.getMisses());
+        assertEquals(1, store.getCachedRooms());
+    }
+
+    @Test
+    void dropsRoomsOnlyFromTheirOwnStripe() throws IOException {
+        Path file = dir.resolve("world.store");
+        WorldStore.write(file, Controller.newTemplate(Controller.headless().loadWorldFromJson()));
+        WorldStore store = WorldStore.open(file, 4);     // four stripes holding one room each
+
+        for (int id = 0; id < 4; id++) store.getRoom(id);
+        store.getRoom(4);                               // shares a stripe with room 0, and drops it
+        store.getRoom(1);
+        store.getRoom(2);
+        store.getRoom(3);
+        store.getRoom(0);
+        assertEquals(3, store.getHits());
+        assertEquals(6, store.getMisses());
+        assertEquals(4, store.getCachedRooms());
+    }
+
+    @Test
+    void servesManySessionsAtOnce() throws Exception {
+        WorldTemplate heap = TestWorlds.withSectors(1_000);
+        Path file = dir.resolve("world.store");
+        WorldStore.write(file, heap);
+        WorldStore store = WorldStore.open(file, CACHE_SIZE * 4);
+
+        ExecutorService sessions = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int session = 0; session < 4; session++) {
+                int first = session;
+                done.add(sessions.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        int id = (first * 7919 + i * 31) % store.getRoomCount();
+                        assertEquals(heap.getMap().getRoomName(id), store.getRoom(id).getName());
+                    }
+                }));
+            }
+            for (Future<?> session : done) session.get();
+        } finally {
+            sessions.shutdown();
+        }
+        assertEquals(20_000, store.getHits() + store.getMisses());
+        assertTrue(store.getCachedRooms() <= CACHE_SIZE * 4);
+    }
+
+    @Test
+    void opensWithoutBuildingOrInterningTheRooms() throws IOException {
+        WorldSnapshot world = Controller.headless().loadWorldFromJson();
+        WorldTemplate heap = Controller.newTemplate(world);
+        Path file = dir.resolve("world.store");
+        WorldStore.write(file, heap);
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        world.write(compiled);
+
+        WorldSnapshot objects = WorldSnapshot.readObjects(new ByteArrayInputStream(compiled.toByteArray()));
+        assertNull(objects.getMap());
+        WorldStore store = WorldStore.open(file, CACHE_SIZE);
+        WorldTemplate mapped = Controller.newTemplate(new WorldSnapshot(new RoomsRoot(store), objects.getItems(),
+                objects.getHiddenItems(), objects.getInteractables(), objects.getItemUseMap()));
+        int built = store.getCachedRooms();
+
+        SymbolTable symbols = mapped.getSymbols();
+        assertEquals(heap.getSymbols().size(), symbols.size());
+        for (int id = 0; id < store.getRoomCount(); id++) {
+            String name = heap.getMap().getRoomName(id);
+            assertEquals(id, symbols.idOf(name.toLowerCase()), name);
+            assertEquals(name.toLowerCase(), symbols.nameOf(id));
+            assertEquals(heap.getSymbols().idOf(name.toLowerCase()), symbols.idOf(name.toLowerCase()));
+        }
+        assertEquals(heap.getSymbols().idOf("key"), symbols.idOf("key"));
+        assertEquals(SymbolTable.NONE, symbols.idOf("no such room"));
+        assertTrue(built <= 1, "only the starting room should have been built, not " + built);
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAStore() throws IOException {
+        Path file = dir.resolve("world.store");
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> WorldStore.open(file, CACHE_SIZE));
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private static List<String> names(List<Item> items) {
+        List<String> names = new ArrayList<>(items.size());
+        for (Item item : items) names.add(item.getName());
+        return names;
+    }
+}
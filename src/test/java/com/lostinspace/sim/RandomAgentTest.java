@@ -0,0 +1,41 @@
+package com.lostinspace.sim;
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.Exit;
+import com.lostinspace.model.Room;
+import com.lostinspace.model.RoomsRoot;
+import com.lostinspace.model.TestWorlds;
+import com.lostinspace.model.WorldSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RandomAgentTest {
+    @Test
+    void looksAroundWhenNothingCanBeDone() throws IOException {
+        WorldSnapshot stock = TestWorlds.stock();
+        Room closet = new Room();
+        closet.name = "Sealed Closet";
+        closet.description = "No way in, no way out.";
+        closet.exits = new Exit("", "", "", "");
+        List<Room> rooms = new ArrayList<>(stock.getMap().getRooms());
+        rooms.add(closet);
+        RoomsRoot map = new RoomsRoot();
+        map.rooms = rooms;
+        map.createMap();
+
+        Controller game = TestWorlds.game(Controller.newTemplate(new WorldSnapshot(map, stock.getItems(),
+                stock.getHiddenItems(), stock.getInteractables(), stock.getItemUseMap())));
+        game.getPlayer().setCurrentRoom(game.getMap().getRoom(closet.name));
+
+        String command = new RandomAgent().nextCommand(game, new SplittableRandom(1));
+        assertEquals(RandomAgent.IDLE, command);
+        game.userCommands(command);
+        assertEquals(closet.name, game.getPlayer().getRoom().getName());
+    }
+}
@@ -0,0 +1,43 @@
+package com.lostinspace.sim;
+
+import com.lostinspace.controller.Controller;
+import com.lostinspace.model.TestWorlds;
+import com.lostinspace.model.WorldTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverTest {
+
+    @Test
+    void findsTheShortestWinOfTheStockShip() {
+        WorldTemplate template = Controller.newTemplate(TestWorlds.stock());
+        Solver solver = new Solver(() -> TestWorlds.game(template));
+        solver.setStopAtFirstWin(true);
+
+        Solver.Result result = solver.solve(TestWorlds.game(template));
+        assertTrue(result.isWinnable());
+        assertEquals(17, result.getWinningCommands().size());
+    }
+
+    @Test
+    void stopsAddingStatesAtTheLimit() {
+        WorldTemplate template = Controller.newTemplate(TestWorlds.stock());
+        AtomicInteger games = new AtomicInteger();
+        Solver solver = new Solver(() -> {
+            games.incrementAndGet();
+            return TestWorlds.game(template);
+        });
+        solver.setMaxStates(50);
+
+        Solver.Result result = solver.solve(TestWorlds.game(template));
+        assertFalse(result.isComplete());
+        assertFalse(result.isWinnable());
+        assertTrue(result.getStates() <= 50 + Runtime.getRuntime().availableProcessors(), "states: " + result.getStates());
+        assertTrue(games.get() <= Runtime.getRuntime().availableProcessors() + 1, "games: " + games.get());
+    }
+}
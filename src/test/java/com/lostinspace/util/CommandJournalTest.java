@@ -0,0 +1,129 @@
+package com.lostinspace.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandJournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysTheLastCheckpointAndTheCommandsAfterIt() throws IOException {
+        Path file = dir.resolve("session.journal");
+        try (CommandJournal journal = new CommandJournal(file, 3, 4)) {
+            journal.command("go south");
+            journal.checkpoint(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+            journal.command("get key");
+            journal.command("go north");
+            journal.command("go north");
+            assertFalse(journal.isCheckpointDue());
+            journal.command("use key");
+            assertTrue(journal.isCheckpointDue());
+            journal.checkpoint(ByteBuffer.wrap(new byte[]{4, 5}));
+            assertFalse(journal.isCheckpointDue());
+            journal.command("inspect room");
+            journal.command("drop kéy");                // not ASCII
+        }
+
+        Recorder replayed = new Recorder();
+        assertEquals(2, CommandJournal.replay(file, replayed));
+        assertEquals(1, replayed.checkpoints.size());
+        assertArrayEquals(new byte[]{4, 5}, replayed.checkpoints.get(0));
+        assertEquals(List.of("inspect room", "drop kéy"), replayed.commands);
+    }
+
+    @Test
+    void writesACheckpointLargerThanItsBuffer() throws IOException {
+        Path file = dir.resolve("session.journal");
+        byte[] state = new byte[100 * 1024];
+        for (int i = 0; i < state.length; i++) state[i] = (byte) i;
+        try (CommandJournal journal = new CommandJournal(file)) {
+            journal.command("go south");
+            journal.checkpoint(ByteBuffer.wrap(state));
+            journal.command("go north");
+        }
+
+        Recorder replayed = new Recorder();
+        assertEquals(1, CommandJournal.replay(file, replayed));
+        assertArrayEquals(state, replayed.checkpoints.get(0));
+        assertEquals(List.of("go north"), replayed.commands);
+    }
+
+    @Test
+    void writesACommandLongerThanItsBuffer() throws IOException {
+        Path file = dir.resolve("session.journal");
+        String line = "inspect " + "ü".repeat(20_000);
+        try (CommandJournal journal = new CommandJournal(file, 3, 100)) {
+            journal.command("go south");
+            journal.command(line);
+            journal.command("go north");
+            journal.command("bad \uD800 surrogate");
+        }
+
+        Recorder replayed = new Recorder();
+        assertEquals(4, CommandJournal.replay(file, replayed));
+        assertEquals(List.of("go south", line, "go north", "bad ? surrogate"), replayed.commands);
+    }
+
+    @Test
+    void dropsARecordCutShortByACrash() throws IOException {
+        Path file = dir.resolve("session.journal");
+        try (CommandJournal journal = new CommandJournal(file)) {
+            journal.command("go south");
+            journal.command("go west");
+        }
+        Files.write(file, new byte[]{CommandJournal.COMMAND, 0, 0, 0, 40, 'g', 'o'}, StandardOpenOption.APPEND);
+
+        Recorder replayed = new Recorder();
+        assertEquals(2, CommandJournal.replay(file, replayed));
+        assertEquals(List.of("go south", "go west"), replayed.commands);
+
+        // reopening cuts the partial record off, so the next command follows the last whole one
+        try (CommandJournal journal = new CommandJournal(file)) {
+            journal.command("go east");
+        }
+        replayed = new Recorder();
+        assertEquals(3, CommandJournal.replay(file, replayed));
+        assertEquals(List.of("go south", "go west", "go east"), replayed.commands);
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAJournal() throws IOException {
+        Path file = dir.resolve("session.journal");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> CommandJournal.replay(file, new Recorder()));
+        assertThrows(IOException.class, () -> new CommandJournal(file));
+    }
+
+    // keeps every record a replay hands it
+    private static class Recorder implements CommandJournal.Listener {
+        final List<byte[]> checkpoints = new ArrayList<>();
+        final List<String> commands = new ArrayList<>();
+
+        @Override
+        public void checkpoint(ByteBuffer state) {
+            byte[] bytes = new byte[state.remaining()];
+            state.get(bytes);
+            checkpoints.add(bytes);
+        }
+
+        @Override
+        public void command(String line) {
+            commands.add(line);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.lostinspace.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.lostinspace.model.HiddenItem;
+import com.lostinspace.model.Item;
+import com.lostinspace.model.WorldSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContentLoaderTest {
+    @Test
+    void readsEveryUsedDescriptionOfAFileInOnePass() throws IOException {
+        CountingFileGetter files = new CountingFileGetter();
+        WorldSnapshot world = new ContentLoader(files).load();
+        assertEquals(1, files.opened(ContentLoader.ITEMS));
+
+        assertUsedDescriptions(world.getItems(), ContentLoader.ITEMS, "items");
+        assertUsedDescriptions(world.getInteractables(), ContentLoader.INTERACTABLES, "interactables");
+        JsonArray hidden = array(ContentLoader.HIDDEN_ITEMS, "hiddenItems");
+        assertEquals(hidden.size(), world.getHiddenItems().size());
+        for (int i = 0; i < hidden.size(); i++) {
+            HiddenItem item = world.getHiddenItems().get(i);
+            assertEquals(usedDescription(hidden.get(i)), item.getUsedDescription(), item.getName());
+        }
+
+        // asking for every usedDescription read each file back once, not once per object
+        assertEquals(2, files.opened(ContentLoader.ITEMS));
+        assertEquals(2, files.opened(ContentLoader.INTERACTABLES));
+        assertEquals(2, files.opened(ContentLoader.HIDDEN_ITEMS));
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    private static void assertUsedDescriptions(List<Item> items, String resource, String arrayName) throws IOException {
+        JsonArray expected = array(resource, arrayName);
+        assertEquals(expected.size(), items.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(usedDescription(expected.get(i)), items.get(i).getUsedDescription(), items.get(i).getName());
+        }
+    }
+
+    // the array as a whole JSON tree, read without the loader
+    private static JsonArray array(String resource, String arrayName) throws IOException {
+        try (Reader reader = new FileGetter().getResource(resource)) {
+            return JsonParser.parseReader(reader).getAsJsonObject().getAsJsonArray(arrayName);
+        }
+    }
+
+    private static String usedDescription(JsonElement entry) {
+        JsonObject object = entry.getAsJsonObject();
+        return object.has("usedDescription") && !object.get("usedDescription").isJsonNull()
+                ? object.get("usedDescription").getAsString() : null;
+    }
+
+    // counts how many times each content file is opened
+    private static class CountingFileGetter extends FileGetter {
+        private final Map<String, Integer> opened = new ConcurrentHashMap<>();
+
+        @Override
+        public Reader getResource(String rsc) {
+            opened.merge(rsc, 1, Integer::sum);
+            return super.getResource(rsc);
+        }
+
+        int opened(String rsc) {
+            return opened.getOrDefault(rsc, 0);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.lostinspace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScreenRendererTest {
+    private static final List<String> STATUS = List.of("You are in the Cockpit", "", "Oxygen Level: 80.00 percent");
+
+    private final ByteArrayOutputStream terminal = new ByteArrayOutputStream();
+    private final ScreenRenderer screen = new ScreenRenderer(terminal, StandardCharsets.UTF_8);
+
+    @Test
+    void keepsTheFrameUnderAPause() {
+        GameEvents events = new GameEvents(screen);
+        draw("Enter a Command (HELP for command list): ");
+
+        screen.getText().println("The locker is empty.");
+        events.enterToContinue();
+        String resumed = sent(events::resume);
+        assertEquals("\u001B[5;1H\u001B[J", resumed);        // only the rows below the frame are erased
+
+        String next = sent(() -> draw("Enter a Command (HELP for command list): "));
+        assertFalse(next.contains("Cockpit"), next);         // lines the terminal still shows aren't sent again
+        assertFalse(next.contains("2J"), next);
+    }
+
+    @Test
+    void drawsTheWholeFrameAfterTextThatCouldHaveScrolledIt() {
+        GameEvents events = new GameEvents(screen);
+        draw("Enter a Command (HELP for command list): ");
+
+        for (int i = 0; i < 10; i++) {
+            screen.getText().println("x".repeat(2 * ScreenRenderer.DEFAULT_WIDTH));   // two rows each
+        }
+        events.enterToContinue();
+        assertTrue(sent(events::resume).contains("2J"));
+
+        String next = sent(() -> draw("Enter a Command (HELP for command list): "));
+        assertTrue(next.contains("Cockpit"), next);
+    }
+
+    @Test
+    void clearsForTheNextPage() {
+        GameEvents events = new GameEvents(screen);
+        draw("Enter a Command (HELP for command list): ");
+
+        String first = sent(() -> events.showPages(List.of("Page one", "Page two")));
+        assertTrue(first.contains("2J") && first.contains("Page one"), first);
+        String second = sent(events::resume);
+        assertTrue(second.contains("2J") && second.contains("Page two"), second);
+    }
+
+    //-------------------------------UTILITY METHODS
+
+    // presents the status lines and a prompt
+    private void draw(String prompt) {
+        STATUS.forEach(screen::line);
+        screen.line(prompt);
+        screen.present();
+    }
+
+    // returns what an action sent to the terminal
+    private String sent(Runnable action) {
+        terminal.reset();
+        action.run();
+        return terminal.toString(StandardCharsets.UTF_8);
+    }
+}